@@ -0,0 +1,100 @@
+package benchmarks;
+
+import base.BasePage;
+import config.ConfigReader;
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BasePageBenchmark
+ * -------------------
+ * Purpose:
+ * Measures what BasePage adds around each browser command (SmartWait, ActionRetry,
+ * WaitStats, config lookups) against StubWebDriver, where the browser itself costs nothing.
+ * A real browser adds ~1-20 ms per command on top of these numbers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BasePageBenchmark {
+
+    private StubWebDriver driver;
+    private Page page;
+    private List<WebElement> loginFields;
+    private List<String> loginValues;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ConfigReader.setProperty("form.batch.enabled", "true");
+        ConfigReader.setProperty("wait.mutation.observer", "false");
+        ConfigReader.setProperty("page.ready.enabled", "true");
+        driver = new StubWebDriver();
+        page = new Page(driver);
+
+        loginFields = List.of(driver.element(), new StubWebDriver.StubWebElement());
+        loginValues = List.of("Admin", "admin123");
+    }
+
+    @Benchmark
+    public void click() {
+        page.click(driver.element());
+    }
+
+    @Benchmark
+    public void type() {
+        page.type(driver.element(), "Admin");
+    }
+
+    @Benchmark
+    public void fillAndSubmit() {
+        driver.setScriptResult(Boolean.TRUE);
+        page.fillAndSubmit(loginFields, loginValues, driver.element());
+    }
+
+    @Benchmark
+    public void waitForPageReady() {
+        driver.setScriptResult("/web/index.php/dashboard/index");
+        page.waitForPageReady();
+    }
+
+    @Benchmark
+    public Page newPage() {
+        return new Page(driver);
+    }
+
+    /**
+     * Makes BasePage's protected actions callable from the benchmark.
+     */
+    public static class Page extends BasePage {
+
+        Page(StubWebDriver driver) {
+            super(driver);
+        }
+
+        @Override
+        public void click(WebElement element) {
+            super.click(element);
+        }
+
+        @Override
+        public void type(WebElement element, String text) {
+            super.type(element, text);
+        }
+
+        @Override
+        public void fillAndSubmit(List<WebElement> fields, List<String> values, WebElement submitButton) {
+            super.fillAndSubmit(fields, values, submitButton);
+        }
+
+        @Override
+        public void waitForPageReady() {
+            super.waitForPageReady();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * BaselineCompare
+ * -----------------
+ * Purpose:
+ * Compares a JMH result file (-rf json) with the checked-in baseline and lists
+ * every benchmark that got slower by more than the threshold.
+ *
+ * Usage:
+ *   java -cp benchmarks/target/benchmarks.jar benchmarks.BaselineCompare
+ *        benchmarks/baseline/jmh-result.json benchmarks/target/jmh-result.json [threshold, default 0.2]
+ *
+ * All benchmarks here report time per operation, so a higher score is slower.
+ * Exits with 1 when something regressed, so CI can fail on it.
+ *
+ * Multi-threaded benchmarks (*Contended, readWhileOverriding) are shown but never fail
+ * the check: their score depends on how many cores the machine has, and the baseline
+ * may come from a machine with fewer or more cores than the one running now.
+ */
+public class BaselineCompare {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineCompare <baseline.json> <results.json> [threshold]");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> results = read(new File(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.2;
+
+        int regressions = 0;
+        boolean anyThreaded = false;
+        System.out.println("📏 Benchmarks vs baseline (baseline | now | change | benchmark)");
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode previous = baseline.get(entry.getKey());
+            JsonNode metric = entry.getValue().path("primaryMetric");
+            double now = metric.path("score").asDouble();
+            String unit = metric.path("scoreUnit").asText();
+            boolean threaded = entry.getValue().path("threads").asInt(1) > 1;
+            anyThreaded |= threaded;
+            String label = entry.getKey() + " (" + unit + (threaded ? ", not gated" : "") + ")";
+            if (previous == null || previous.path("primaryMetric").path("score").asDouble() <= 0) {
+                System.out.printf("   %12s | %12.3f | %7s | %s%n", "-", now, "new", label);
+                continue;
+            }
+            double before = previous.path("primaryMetric").path("score").asDouble();
+            double change = now / before - 1;
+            boolean slower = change > threshold && !threaded;
+            if (slower) regressions++;
+            System.out.printf("%s %12.3f | %12.3f | %+6.0f%% | %s%n",
+                    slower ? "🐢" : "  ", before, now, change * 100, label);
+        }
+        if (anyThreaded) {
+            System.out.println("ℹ️ Multi-threaded benchmarks are not gated: their score depends on the machine's core count");
+        }
+
+        if (regressions > 0) {
+            System.out.println("🐢 " + regressions + " benchmark(s) slower than the baseline by more than "
+                    + Math.round(threshold * 100) + "%");
+            System.exit(1);
+        }
+        System.out.println("✅ No benchmark slower than the baseline by more than " + Math.round(threshold * 100) + "%");
+    }
+
+    /**
+     * Reads a JMH json result file into "benchmark [param=value, ...]" → its run (threads, primaryMetric...).
+     */
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> scores = new LinkedHashMap<>();
+        for (JsonNode run : mapper.readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText().replace("benchmarks.", ""));
+            JsonNode params = run.path("params");
+            if (params.size() > 0) {
+                key.append(" [");
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    key.append(param.getKey()).append('=').append(param.getValue().asText());
+                    if (fields.hasNext()) key.append(", ");
+                }
+                key.append(']');
+            }
+            scores.put(key.toString(), run);
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,74 @@
+package benchmarks;
+
+import config.ConfigReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConfigReaderBenchmark
+ * -----------------------
+ * Purpose:
+ * Measures config lookups, which run on every wait, click and report line.
+ *
+ *  - *Single: one thread reading
+ *  - *Contended: 4 threads reading the same keys at once (parallel scenarios)
+ *  - readWhileOverriding: 3 readers while 1 thread keeps calling setProperty()
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigReaderBenchmark {
+
+    @Setup(Level.Trial)
+    public void load() {
+        ConfigReader.loadProperties();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String getPropertySingle() {
+        return ConfigReader.getProperty("base.url");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String getPropertyContended() {
+        return ConfigReader.getProperty("base.url");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int getIntPropertySingle() {
+        return ConfigReader.getIntProperty("explicit.wait");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int getIntPropertyContended() {
+        return ConfigReader.getIntProperty("explicit.wait");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean getBooleanPropertyContended() {
+        return ConfigReader.getBooleanProperty("form.batch.enabled");
+    }
+
+    @Benchmark
+    @Group("readWhileOverriding")
+    @GroupThreads(3)
+    public int reader() {
+        return ConfigReader.getIntProperty("explicit.wait");
+    }
+
+    @Benchmark
+    @Group("readWhileOverriding")
+    @GroupThreads(1)
+    public void writer() {
+        ConfigReader.setProperty("benchmark.key", "value");
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import com.aventstack.extentreports.Status;
+import config.ConfigReader;
+import org.openjdk.jmh.annotations.*;
+import reporting.ExtentManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExtentManagerBenchmark
+ * ------------------------
+ * Purpose:
+ * Measures reporting one scenario through ExtentManager: startTest, 10 step logs, endTest.
+ *
+ *  - streaming = false: kept in memory by ExtentReports until flushReports()
+ *  - streaming = true:  one JSON line per scenario appended by StreamingReportWriter
+ *
+ * Runs in fixed batches (SingleShotTime) because the in-memory report keeps every
+ * scenario: a time-based run would grow the report without bound.
+ * The score is the time for one batch of 1000 scenarios.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = 1000)
+@Measurement(iterations = 20, batchSize = 1000)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExtentManagerBenchmark {
+
+    @Param({"false", "true"})
+    public String streaming;
+
+    private File directory;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("report-benchmark").toFile();
+        ConfigReader.setProperty("report.streaming", streaming);
+        ConfigReader.setProperty("report.streaming.results", new File(directory, "results.jsonl").getPath());
+        ConfigReader.setProperty("report.max.logs.per.test", "200");
+        // Create the in-memory report outside the measurement (nothing is written until flushReports())
+        ExtentManager.getInstance();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) file.delete();
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public void reportScenario() {
+        ExtentManager.startTest("Scenario " + counter++);
+        for (int step = 1; step <= 10; step++) {
+            ExtentManager.log(Status.PASS, "Step " + step + " passed");
+        }
+        ExtentManager.endTest(Status.PASS);
+    }
+}
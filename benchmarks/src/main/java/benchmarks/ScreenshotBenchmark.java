@@ -0,0 +1,91 @@
+package benchmarks;
+
+import config.ConfigReader;
+import org.openjdk.jmh.annotations.*;
+import utils.ScreenshotWriter;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScreenshotBenchmark
+ * ---------------------
+ * Purpose:
+ * Measures what saving one failure screenshot costs (Hooks / WebDriverUtils → ScreenshotWriter):
+ * decoding, scaling, encoding and writing to disk, for each screenshot.format / screenshot.scale.
+ *
+ * The input is a generated 1366x768 PNG with text and gradients, close to a real page screenshot.
+ * png at scale 1.0 is the "write the bytes as they are" shortcut.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScreenshotBenchmark {
+
+    @Param({"png", "jpg"})
+    public String format;
+
+    @Param({"1.0", "0.5"})
+    public String scale;
+
+    private byte[] png;
+    private File directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ConfigReader.setProperty("screenshot.format", format);
+        ConfigReader.setProperty("screenshot.scale", scale);
+        ConfigReader.setProperty("screenshot.quality", "0.8");
+        png = fakeScreenshot(1366, 768);
+        directory = Files.createTempDirectory("screenshot-benchmark").toFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) file.delete();
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public File writeScreenshot() {
+        return ScreenshotWriter.writeNow(png, directory, "failed_step");
+    }
+
+    /**
+     * A page-like image: header bar, text rows and a gradient panel.
+     */
+    static byte[] fakeScreenshot(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setColor(new Color(255, 123, 29));
+            graphics.fillRect(0, 0, width, 60);
+            graphics.setPaint(new GradientPaint(0, 100, new Color(240, 240, 250), width, height, new Color(200, 210, 230)));
+            graphics.fillRect(220, 100, width - 260, height - 140);
+            graphics.setColor(Color.DARK_GRAY);
+            graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 14));
+            for (int y = 120; y < height - 40; y += 22) {
+                graphics.drawString("Employee " + y + "  ·  Software Engineer  ·  Engineering  ·  Full-Time", 240, y);
+            }
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
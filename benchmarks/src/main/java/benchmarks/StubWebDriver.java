@@ -0,0 +1,194 @@
+package benchmarks;
+
+import org.openqa.selenium.*;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * StubWebDriver
+ * ---------------
+ * Purpose:
+ * An in-memory WebDriver for the benchmarks: every command answers at once,
+ * so what is measured is only the framework's own work around each command.
+ *
+ *  - findElement() always returns the same visible, enabled StubWebElement
+ *  - executeScript() returns 'scriptResult' (true = form filled / "/path" = page ready...)
+ *  - Navigation, windows and options are not supported
+ */
+public class StubWebDriver implements WebDriver, JavascriptExecutor {
+
+    private final StubWebElement element = new StubWebElement();
+    private volatile Object scriptResult = Boolean.TRUE;
+
+    public StubWebElement element() {
+        return element;
+    }
+
+    public void setScriptResult(Object scriptResult) {
+        this.scriptResult = scriptResult;
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        return scriptResult;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return scriptResult;
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return element;
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return List.of(element);
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return "http://localhost/web/index.php/dashboard/index";
+    }
+
+    @Override
+    public String getTitle() {
+        return "OrangeHRM";
+    }
+
+    @Override
+    public String getPageSource() {
+        return "<html></html>";
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "main";
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Set.of("main");
+    }
+
+    @Override
+    public void get(String url) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("Not supported by the stub driver");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("Not supported by the stub driver");
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException("Not supported by the stub driver");
+    }
+
+    /**
+     * A visible, enabled element that accepts every click and keystroke.
+     */
+    public static class StubWebElement implements WebElement {
+
+        private final StringBuilder value = new StringBuilder();
+
+        @Override
+        public void click() {
+        }
+
+        @Override
+        public void submit() {
+        }
+
+        @Override
+        public void sendKeys(CharSequence... keysToSend) {
+            for (CharSequence keys : keysToSend) value.append(keys);
+        }
+
+        @Override
+        public void clear() {
+            value.setLength(0);
+        }
+
+        @Override
+        public String getTagName() {
+            return "input";
+        }
+
+        @Override
+        public String getAttribute(String name) {
+            return "value".equals(name) ? value.toString() : null;
+        }
+
+        @Override
+        public boolean isSelected() {
+            return false;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public String getText() {
+            return value.toString();
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            return List.of(this);
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            return this;
+        }
+
+        @Override
+        public boolean isDisplayed() {
+            return true;
+        }
+
+        @Override
+        public Point getLocation() {
+            return new Point(0, 0);
+        }
+
+        @Override
+        public Dimension getSize() {
+            return new Dimension(120, 32);
+        }
+
+        @Override
+        public Rectangle getRect() {
+            return new Rectangle(getLocation(), getSize());
+        }
+
+        @Override
+        public String getCssValue(String propertyName) {
+            return "";
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            throw new UnsupportedOperationException("Not supported by the stub driver");
+        }
+    }
+}
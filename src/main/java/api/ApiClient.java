@@ -0,0 +1,234 @@
+package api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import config.ConfigReader;
+import session.SessionCache;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ApiClient
+ * -----------
+ * Purpose:
+ * Talks to OrangeHRM's REST API (web/index.php/api/v2/...) so scenarios can create
+ * their test data directly instead of clicking through the UI.
+ *
+ * How it works:
+ *  - One client per role and base URL, shared by all scenarios: its HttpClient keeps
+ *    connections open and reuses them
+ *  - Logs in once like the browser does (login form + session cookie, with the CSRF token
+ *    from the login page when the app sends one); logs in again if the session expires,
+ *    once for all the requests that saw it expire at the same time
+ *  - sendAsync() lets many requests run at the same time, at most 'api.max.parallel'
+ *
+ * Credentials are the same as SessionCache's: role.<Role>.username / password.
+ */
+public class ApiClient {
+
+    private static final String LOGIN_PATH = "web/index.php/auth/login";
+    private static final String VALIDATE_PATH = "web/index.php/auth/validate";
+    private static final String API_PATH = "web/index.php/api/v2/";
+
+    // <auth-login :token="&quot;...&quot;"> on the real login page
+    private static final Pattern CSRF_TOKEN = Pattern.compile(":token=\"&quot;(.+?)&quot;\"");
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    // "role@baseUrl" → client
+    private static final Map<String, ApiClient> clients = new ConcurrentHashMap<>();
+
+    private final URI baseUri;
+    private final String role;
+    private final HttpClient http;
+    private final Semaphore inFlight;
+    private final Duration timeout;
+
+    private volatile boolean loggedIn;
+
+    // Counts logins; a 401 only logs in again if no one else has since its request was sent
+    private volatile int sessionGeneration;
+
+    private ApiClient(String baseUrl, String role) {
+        this.baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        this.role = role;
+        this.timeout = Duration.ofSeconds(ConfigReader.getIntProperty("api.timeout.seconds"));
+        this.inFlight = new Semaphore(Math.max(1, ConfigReader.getIntProperty("api.max.parallel")));
+        this.http = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager(null, CookiePolicy.ACCEPT_ALL))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * The shared client for a role on the current base.url.
+     */
+    public static ApiClient forRole(String role) {
+        String baseUrl = ConfigReader.getProperty("base.url");
+        return clients.computeIfAbsent(role + "@" + baseUrl, key -> new ApiClient(baseUrl, role));
+    }
+
+    public JsonNode get(String path) {
+        return join(sendAsync("GET", path, null));
+    }
+
+    public JsonNode post(String path, Object body) {
+        return join(sendAsync("POST", path, body));
+    }
+
+    public JsonNode delete(String path, Object body) {
+        return join(sendAsync("DELETE", path, body));
+    }
+
+    /**
+     * Sends one API request without waiting for the answer.
+     * Blocks only while 'api.max.parallel' requests are already running.
+     *
+     * @param path relative to web/index.php/api/v2/, e.g. "pim/employees"
+     * @param body object written as JSON, or null
+     */
+    public CompletableFuture<JsonNode> sendAsync(String method, String path, Object body) {
+        ensureLoggedIn();
+        String json;
+        try {
+            json = body == null ? null : mapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write API request body for " + path, e);
+        }
+
+        inFlight.acquireUninterruptibly();
+        try {
+            int generation = sessionGeneration;
+            return http.sendAsync(request(method, path, json), HttpResponse.BodyHandlers.ofString())
+                    .thenCompose(response -> {
+                        if (response.statusCode() != 401) {
+                            return CompletableFuture.completedFuture(response);
+                        }
+                        // Session expired: log in again (unless another request already did) and repeat once
+                        loginAgain(generation);
+                        return http.sendAsync(request(method, path, json), HttpResponse.BodyHandlers.ofString());
+                    })
+                    .thenApply(response -> parse(method, path, response))
+                    .whenComplete((result, error) -> inFlight.release());
+        } catch (RuntimeException e) {
+            // Failed before the request was on its way, so whenComplete above never runs
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private HttpRequest request(String method, String path, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(API_PATH + path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (json == null) {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json));
+        }
+        return builder.build();
+    }
+
+    private static JsonNode parse(String method, String path, HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new RuntimeException("API " + method + " " + path + " failed with HTTP " + response.statusCode()
+                    + ": " + response.body());
+        }
+        try {
+            return response.body().isEmpty() ? mapper.nullNode() : mapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new RuntimeException("API " + method + " " + path + " returned invalid JSON", e);
+        }
+    }
+
+    private void ensureLoggedIn() {
+        if (!loggedIn) {
+            synchronized (this) {
+                if (!loggedIn) login();
+            }
+        }
+    }
+
+    /**
+     * Logs in again after a 401, unless another request already did since the
+     * one that failed was sent (its session was 'generation').
+     */
+    private synchronized void loginAgain(int generation) {
+        if (sessionGeneration == generation) {
+            login();
+        }
+    }
+
+    /**
+     * Logs in through the login form, exactly like the browser, and keeps the session cookie.
+     */
+    private synchronized void login() {
+        try {
+            HttpResponse<String> loginPage = http.send(
+                    HttpRequest.newBuilder(baseUri.resolve(LOGIN_PATH)).timeout(timeout).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            StringBuilder form = new StringBuilder()
+                    .append("username=").append(encode(SessionCache.usernameFor(role)))
+                    .append("&password=").append(encode(SessionCache.passwordFor(role)));
+            Matcher token = CSRF_TOKEN.matcher(loginPage.body());
+            if (token.find()) {
+                form.append("&_token=").append(encode(token.group(1)));
+            }
+
+            HttpResponse<Void> response = http.send(
+                    HttpRequest.newBuilder(baseUri.resolve(VALIDATE_PATH))
+                            .timeout(timeout)
+                            .header("Content-Type", "application/x-www-form-urlencoded")
+                            .POST(HttpRequest.BodyPublishers.ofString(form.toString()))
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+
+            String location = response.headers().firstValue("Location").orElse("");
+            if (response.statusCode() != 302 || location.contains("auth/login")) {
+                throw new RuntimeException("API login failed for role: " + role);
+            }
+            loggedIn = true;
+            sessionGeneration++;
+        } catch (IOException e) {
+            throw new RuntimeException("API login failed for role " + role + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during API login", e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Waits for a request and rethrows its failure as is.
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package api;
+
+/**
+ * Employee
+ * ----------
+ * An OrangeHRM employee as used by the API.
+ * empNumber is the app's internal id (null until created); employeeId is the
+ * "Employee Id" shown in the UI.
+ */
+public record Employee(Integer empNumber, String firstName, String lastName, String employeeId) {
+}
@@ -0,0 +1,95 @@
+package api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * EmployeeApi
+ * -------------
+ * Purpose:
+ * Creates, reads and deletes OrangeHRM employees through the REST API (PIM module).
+ *
+ *  - create()  → one POST per employee, all sent at the same time
+ *  - delete()  → ONE request for any number of employees (the API takes a list of ids)
+ */
+public class EmployeeApi {
+
+    private static final String EMPLOYEES = "pim/employees";
+
+    // Makes employee ids unique within the run (the app allows at most 10 characters)
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    private final ApiClient client;
+
+    public EmployeeApi(ApiClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Builds a new (not yet created) employee with a unique name and employee id.
+     */
+    public static Employee newEmployee() {
+        String suffix = Long.toString(System.currentTimeMillis() % 100_000_000L, 36)
+                + Integer.toString(sequence.incrementAndGet() % 1296, 36);
+        return new Employee(null, "Seed", "Employee " + suffix, ("T" + suffix).toUpperCase());
+    }
+
+    /**
+     * Creates all employees in parallel and returns them with their empNumber.
+     */
+    public List<Employee> create(List<Employee> employees) {
+        List<CompletableFuture<Employee>> requests = new ArrayList<>();
+        for (Employee employee : employees) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("firstName", employee.firstName());
+            body.put("middleName", "");
+            body.put("lastName", employee.lastName());
+            body.put("empPicture", null);
+            body.put("employeeId", employee.employeeId());
+            requests.add(client.sendAsync("POST", EMPLOYEES, body).thenApply(EmployeeApi::toEmployee));
+        }
+
+        List<Employee> created = new ArrayList<>();
+        RuntimeException failure = null;
+        for (CompletableFuture<Employee> request : requests) {
+            try {
+                created.add(ApiClient.join(request));
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            // Don't leave half of the data behind
+            delete(created);
+            throw failure;
+        }
+        return created;
+    }
+
+    public Employee get(int empNumber) {
+        return toEmployee(client.get(EMPLOYEES + "/" + empNumber));
+    }
+
+    /**
+     * Deletes the employees in a single request.
+     */
+    public void delete(Collection<Employee> employees) {
+        List<Integer> ids = employees.stream().map(Employee::empNumber).filter(id -> id != null).toList();
+        if (!ids.isEmpty()) {
+            client.delete(EMPLOYEES, Map.of("ids", ids));
+        }
+    }
+
+    private static Employee toEmployee(JsonNode response) {
+        JsonNode data = response.path("data");
+        return new Employee(data.path("empNumber").asInt(), data.path("firstName").asText(),
+                data.path("lastName").asText(), data.path("employeeId").asText());
+    }
+}
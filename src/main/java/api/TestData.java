@@ -0,0 +1,92 @@
+package api;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * TestData
+ * ----------
+ * Purpose:
+ * Holds the data seeded through the API for the scenario running on this thread,
+ * and removes it again afterwards.
+ *
+ * Seeding starts in the background (Hooks, before the browser is launched) so the
+ * API calls and the browser start-up overlap; employees() waits for it when needed.
+ *
+ * Used from Hooks through the @seedEmployees(count) scenario tag.
+ */
+public class TestData {
+
+    private static final Logger log = LogManager.getLogger(TestData.class);
+
+    private static final ThreadLocal<Seeded> current = new ThreadLocal<>();
+
+    private static final ExecutorService seeder = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "api-seeder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private TestData() {
+    }
+
+    /**
+     * Starts creating 'count' employees as 'role' for the current scenario.
+     */
+    public static void seedEmployees(String role, int count) {
+        EmployeeApi api = new EmployeeApi(ApiClient.forRole(role));
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            employees.add(EmployeeApi.newEmployee());
+        }
+        current.set(new Seeded(api, CompletableFuture.supplyAsync(() -> api.create(employees), seeder)));
+        log.info("🌱 Seeding {} employee(s) through the API...", count);
+    }
+
+    /**
+     * The employees seeded for the current scenario (waits until they exist).
+     */
+    public static List<Employee> employees() {
+        Seeded seeded = current.get();
+        return seeded == null ? List.of() : ApiClient.join(seeded.employees);
+    }
+
+    /**
+     * The API client (and so the role) the current scenario's data was seeded with,
+     * for steps that check or change that data.
+     */
+    public static EmployeeApi api() {
+        Seeded seeded = current.get();
+        if (seeded == null) {
+            throw new RuntimeException("No test data was seeded for this scenario (missing @seedEmployees tag?)");
+        }
+        return seeded.api;
+    }
+
+    /**
+     * Deletes everything seeded for the current scenario.
+     */
+    public static void cleanUp() {
+        Seeded seeded = current.get();
+        current.remove();
+        if (seeded == null) {
+            return;
+        }
+        try {
+            List<Employee> employees = ApiClient.join(seeded.employees);
+            seeded.api.delete(employees);
+            log.info("🧽 Deleted {} seeded employee(s)", employees.size());
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Could not clean up seeded data: {}", e.getMessage());
+        }
+    }
+
+    private record Seeded(EmployeeApi api, CompletableFuture<List<Employee>> employees) {
+    }
+}
@@ -0,0 +1,174 @@
+package base;
+
+import config.ConfigReader;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * ActionRetry
+ * -------------
+ * Purpose:
+ * Repeats a page action (click, type) on the SAME browser when it hits a short-lived
+ * error, e.g. the element was re-rendered (stale) or a spinner covered it (click intercepted).
+ * Much cheaper than failing the scenario and paying for a new browser + login on rerun.
+ *
+ * Settings:
+ *  - action.retry.exceptions         → exception classes to retry (simple names = org.openqa.selenium.*)
+ *  - action.retry.max.attempts       → total tries, 1 = no retry
+ *  - action.retry.backoff.ms         → pause before the first retry
+ *  - action.retry.backoff.multiplier → each next pause is this many times longer
+ *
+ * Retries are counted per locator and printed at suite end by TestRunner.
+ */
+public class ActionRetry {
+
+    private static final Logger log = LogManager.getLogger(ActionRetry.class);
+
+    private static volatile Policy policy;
+
+    // locator → retries / recovered / gave up
+    private static final Map<String, Counts> counts = new ConcurrentHashMap<>();
+
+    private ActionRetry() {
+    }
+
+    /**
+     * Runs the action, retrying it on the configured exceptions.
+     *
+     * @param element only used to name the locator in the counters
+     */
+    static void run(String action, WebElement element, Runnable body) {
+        call(action, element, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    static <T> T call(String action, WebElement element, Supplier<T> body) {
+        Policy current = policy();
+        int attempt = 1;
+        Counts locatorCounts = null;
+        while (true) {
+            try {
+                T result = body.get();
+                if (locatorCounts != null) locatorCounts.recovered.increment();
+                return result;
+            } catch (RuntimeException e) {
+                if (!current.retries(e)) {
+                    throw e;
+                }
+                if (locatorCounts == null) {
+                    locatorCounts = counts.computeIfAbsent(action + " " + CachingFieldDecorator.locatorOf(element), k -> new Counts());
+                }
+                if (attempt >= current.maxAttempts) {
+                    locatorCounts.exhausted.increment();
+                    throw e;
+                }
+                locatorCounts.retries.increment();
+                if (log.isDebugEnabled()) {
+                    log.debug("🔂 {} {} failed with {} → try {}/{}", action, CachingFieldDecorator.locatorOf(element),
+                            e.getClass().getSimpleName(), attempt + 1, current.maxAttempts);
+                }
+                sleep(current.backoffMs(attempt));
+                attempt++;
+            }
+        }
+    }
+
+    /**
+     * Prints retries per locator (only locators that needed one), most first.
+     */
+    public static void printRetryCounts() {
+        if (counts.isEmpty()) {
+            return;
+        }
+        log.info("🔂 Action retries (retries | recovered | gave up | action locator)");
+        counts.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Counts> e) -> e.getValue().retries.sum()).reversed())
+                .forEach(e -> log.printf(Level.INFO, "   %6d | %6d | %4d | %s",
+                        e.getValue().retries.sum(), e.getValue().recovered.sum(),
+                        e.getValue().exhausted.sum(), e.getKey()));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to retry an action", e);
+        }
+    }
+
+    private static Policy policy() {
+        Policy current = policy;
+        if (current == null) {
+            current = Policy.fromConfig();
+            policy = current;
+        }
+        return current;
+    }
+
+    /**
+     * The retry settings, read once from config.properties.
+     */
+    private static final class Policy {
+        private final List<Class<?>> exceptions;
+        private final int maxAttempts;
+        private final long backoffMs;
+        private final double multiplier;
+
+        private Policy(List<Class<?>> exceptions, int maxAttempts, long backoffMs, double multiplier) {
+            this.exceptions = exceptions;
+            this.maxAttempts = maxAttempts;
+            this.backoffMs = backoffMs;
+            this.multiplier = multiplier;
+        }
+
+        static Policy fromConfig() {
+            List<Class<?>> exceptions = new ArrayList<>();
+            String configured = ConfigReader.getProperty("action.retry.exceptions");
+            for (String name : configured == null ? new String[0] : configured.split(",")) {
+                name = name.trim();
+                if (name.isEmpty()) continue;
+                String className = name.contains(".") ? name : "org.openqa.selenium." + name;
+                try {
+                    exceptions.add(Class.forName(className));
+                } catch (ClassNotFoundException e) {
+                    throw new RuntimeException("Unknown exception in action.retry.exceptions: " + name, e);
+                }
+            }
+            return new Policy(exceptions,
+                    Math.max(1, ConfigReader.getIntProperty("action.retry.max.attempts")),
+                    Math.max(0, ConfigReader.getIntProperty("action.retry.backoff.ms")),
+                    Double.parseDouble(ConfigReader.getProperty("action.retry.backoff.multiplier")));
+        }
+
+        boolean retries(RuntimeException e) {
+            for (Class<?> type : exceptions) {
+                if (type.isInstance(e)) return true;
+            }
+            return false;
+        }
+
+        /** Pause before retry number 'attempt' (1 = first retry) */
+        long backoffMs(int attempt) {
+            return Math.round(backoffMs * Math.pow(multiplier, attempt - 1));
+        }
+    }
+
+    private static final class Counts {
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder recovered = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+    }
+}
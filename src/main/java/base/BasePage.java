@@ -1,11 +1,12 @@
 package base;
 
+import config.ConfigReader;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.List;
 
 /**
  * BasePage
@@ -21,44 +22,130 @@ import java.time.Duration;
  * so it automatically gets access to:
  *  - click()
  *  - type()
+ *  - fillAndSubmit() (whole form in one browser call)
  *  - waitForVisibility()
+ *  - waitForPageReady() (app rendered + no requests running, see PageReadiness)
+ *  - isVisibleUnless() (fast-fail check)
  *  - getPageTitle()
+ *
+ * All waiting goes through SmartWait (adaptive polling, no implicit waits).
+ * click() and type() are retried in place on short-lived errors (ActionRetry).
  */
 public class BasePage {
 
+    // Sets each field through the native value setter (so Vue's v-model sees it),
+    // fires input/change events, then clicks submit. Returns false if a value did not stick.
+    private static final String FILL_AND_SUBMIT =
+            "var fields = arguments[0], values = arguments[1], submit = arguments[2];"
+                    + " for (var i = 0; i < fields.length; i++) {"
+                    + "   var el = fields[i];"
+                    + "   var setter = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(el), 'value').set;"
+                    + "   el.focus();"
+                    + "   setter.call(el, values[i]);"
+                    + "   el.dispatchEvent(new Event('input', {bubbles: true}));"
+                    + "   el.dispatchEvent(new Event('change', {bubbles: true}));"
+                    + "   el.blur();"
+                    + "   if (el.value !== values[i]) { return false; }"
+                    + " }"
+                    + " if (submit) { submit.click(); }"
+                    + " return true;";
+
     protected WebDriver driver;        // shared browser instance
-    protected WebDriverWait wait;      // wait utility for dynamic elements
+    protected SmartWait wait;          // wait utility for dynamic elements
     protected Actions actions;         // for mouse and keyboard actions
 
-    // Constructor: initializes WebDriver and WebDriverWait
+    // Constructor: initializes WebDriver and SmartWait
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));  // default wait
+        this.wait = new SmartWait(driver, Duration.ofSeconds(ConfigReader.getIntProperty("explicit.wait")));
         this.actions = new Actions(driver);
     }
 
     /**
      * Clicks on a given element safely after waiting for it to be clickable.
+     * Retried on e.g. a stale element or an intercepted click (see ActionRetry).
      */
     protected void click(WebElement element) {
-        wait.until(ExpectedConditions.elementToBeClickable(element)).click();
+        ActionRetry.run("click", element, () -> wait.until("clickable " + CachingFieldDecorator.locatorOf(element),
+                ExpectedConditions.elementToBeClickable(element)).click());
     }
 
     /**
      * Sends text to a given input field.
      * Clears it first to avoid leftover data.
+     * Retried as a whole (clear + type again) on short-lived errors (see ActionRetry).
      */
     protected void type(WebElement element, String text) {
-        wait.until(ExpectedConditions.visibilityOf(element));
-        element.clear();
-        element.sendKeys(text);
+        ActionRetry.run("type", element, () -> {
+            wait.until("visible " + CachingFieldDecorator.locatorOf(element), ExpectedConditions.visibilityOf(element));
+            element.clear();
+            element.sendKeys(text);
+        });
+    }
+
+    /**
+     * Fills a whole form and clicks submit in ONE browser call instead of
+     * a wait + clear + sendKeys per field and a wait + click for the button.
+     *
+     * elements and values are matched by position and filled in that order.
+     * (Lists rather than a Map keyed on the fields: hashing a PageFactory element
+     * looks it up in the browser, before it has been waited for.)
+     * Falls back to normal type()/click() when 'form.batch.enabled' is false,
+     * or when the script could not set a value (e.g. an unusual custom input).
+     */
+    protected void fillAndSubmit(List<WebElement> elements, List<String> values, WebElement submitButton) {
+        if (elements.size() != values.size()) {
+            throw new IllegalArgumentException("fillAndSubmit: " + elements.size() + " fields but " + values.size() + " values");
+        }
+
+        if (ConfigReader.getBooleanProperty("form.batch.enabled") && !elements.isEmpty()) {
+            try {
+                waitForVisibility(elements.get(0));
+                Object filled = ((JavascriptExecutor) driver).executeScript(FILL_AND_SUBMIT, elements, values, submitButton);
+                if (Boolean.TRUE.equals(filled)) {
+                    return;
+                }
+            } catch (JavascriptException e) {
+                // Fall through to the per-field path below
+            }
+        }
+
+        for (int i = 0; i < elements.size(); i++) {
+            type(elements.get(i), values.get(i));
+        }
+        click(submitButton);
     }
 
     /**
      * Waits for a given element to be visible.
      */
     protected void waitForVisibility(WebElement element) {
-        wait.until(ExpectedConditions.visibilityOf(element));
+        wait.until("visible " + CachingFieldDecorator.locatorOf(element), ExpectedConditions.visibilityOf(element));
+    }
+
+    /**
+     * Waits until the page has finished loading its data (no XHR/fetch running,
+     * app rendered). Call it after actions that open or change a page.
+     */
+    protected void waitForPageReady() {
+        PageReadiness.await(driver);
+    }
+
+    /**
+     * Fast-fail check: waits until either the element is visible (returns true)
+     * or the "fail fast" element shows up (returns false), instead of burning
+     * the whole timeout when we already know the element won't appear.
+     */
+    protected boolean isVisibleUnless(WebElement element, By failFastLocator) {
+        try {
+            wait.until("visible " + CachingFieldDecorator.locatorOf(element) + " unless " + failFastLocator,
+                    ExpectedConditions.or(
+                    ExpectedConditions.visibilityOf(element),
+                    ExpectedConditions.presenceOfElementLocated(failFastLocator)));
+            return element.isDisplayed();
+        } catch (TimeoutException | NoSuchElementException | StaleElementReferenceException e) {
+            return false;
+        }
     }
 
     /**
@@ -79,7 +166,7 @@ public class BasePage {
      * Gets text safely from an element.
      */
     protected String getText(WebElement element) {
-        wait.until(ExpectedConditions.visibilityOf(element));
+        wait.until("visible " + CachingFieldDecorator.locatorOf(element), ExpectedConditions.visibilityOf(element));
         return element.getText();
     }
 }
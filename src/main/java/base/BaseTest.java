@@ -2,6 +2,8 @@ package base;
 
 import config.ConfigReader;
 import driver.DriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -19,6 +21,8 @@ import org.testng.annotations.BeforeMethod;
  */
 public class BaseTest {
 
+    private static final Logger log = LogManager.getLogger(BaseTest.class);
+
     // Declare a WebDriver variable that can be used by child classes.
     protected WebDriver driver;
 
@@ -28,7 +32,7 @@ public class BaseTest {
      */
     @BeforeMethod(alwaysRun = true)
     public void setUp() {
-        System.out.println("Loading config and setting up browser...");
+        log.info("Loading config and setting up browser...");
 
         // Load config file first
         ConfigReader.loadProperties();
@@ -36,7 +40,7 @@ public class BaseTest {
         // Get WebDriver instance from DriverManager
         driver = DriverManager.getDriver();
 
-        System.out.println("Browser setup complete!");
+        log.info("Browser setup complete!");
     }
 
     /**
@@ -45,7 +49,7 @@ public class BaseTest {
      */
     @AfterMethod(alwaysRun = true)
     public void tearDown() {
-        System.out.println("Cleaning up and closing browser...");
+        log.info("Cleaning up and closing browser...");
         DriverManager.quitDriver();
     }
 }
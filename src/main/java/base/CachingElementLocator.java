@@ -0,0 +1,119 @@
+package base;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.AbstractAnnotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CachingElementLocator
+ * -----------------------
+ * Purpose:
+ * Finds the element behind one @FindBy field of a page object.
+ *
+ * Differences from Selenium's DefaultElementLocator:
+ *  - Fields marked @CacheLookup are found once per page instance and reused,
+ *    so type()/click() don't repeat findElement for every wait, clear and sendKeys
+ *  - The cache can be dropped (invalidate()) when the element went stale;
+ *    CachingFieldDecorator does this and retries automatically
+ *  - Every real findElement/findElements call is counted per locator (printFindCounts())
+ */
+public class CachingElementLocator implements ElementLocator {
+
+    private static final Logger log = LogManager.getLogger(CachingElementLocator.class);
+
+    // locator → number of real find round-trips, across all pages and threads
+    private static final Map<String, LongAdder> findCounts = new ConcurrentHashMap<>();
+
+    private final SearchContext searchContext;
+    private final By by;
+    private final boolean shouldCache;
+
+    private WebElement cachedElement;
+    private List<WebElement> cachedElementList;
+
+    public CachingElementLocator(SearchContext searchContext, AbstractAnnotations annotations) {
+        this.searchContext = searchContext;
+        this.by = annotations.buildBy();
+        this.shouldCache = annotations.isLookupCached();
+    }
+
+    @Override
+    public WebElement findElement() {
+        if (cachedElement != null) {
+            return cachedElement;
+        }
+
+        countFind();
+        WebElement element = searchContext.findElement(by);
+        if (shouldCache) {
+            cachedElement = element;
+        }
+        return element;
+    }
+
+    @Override
+    public List<WebElement> findElements() {
+        if (cachedElementList != null) {
+            return cachedElementList;
+        }
+
+        countFind();
+        List<WebElement> elements = searchContext.findElements(by);
+        if (shouldCache) {
+            cachedElementList = elements;
+        }
+        return elements;
+    }
+
+    /**
+     * Forgets the cached element(s) so the next call finds them again.
+     * Returns true if there was something cached.
+     */
+    public boolean invalidate() {
+        boolean hadCache = cachedElement != null || cachedElementList != null;
+        cachedElement = null;
+        cachedElementList = null;
+        return hadCache;
+    }
+
+    /**
+     * The locator of the field, e.g. By.name: username.
+     */
+    public By getBy() {
+        return by;
+    }
+
+    private void countFind() {
+        findCounts.computeIfAbsent(by.toString(), k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Prints how many real find round-trips each locator needed, most first.
+     */
+    public static void printFindCounts() {
+        if (findCounts.isEmpty()) {
+            return;
+        }
+
+        log.info("🔎 Element find counts (finds | locator)");
+        findCounts.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                .forEach(e -> log.printf(Level.INFO, "   %6d | %s", e.getValue().sum(), e.getKey()));
+    }
+
+    @Override
+    public String toString() {
+        return "CachingElementLocator '" + by + "'";
+    }
+}
@@ -0,0 +1,150 @@
+package base;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CachingFieldDecorator
+ * -----------------------
+ * Purpose:
+ * Plugs CachingElementLocator into PageFactory.
+ *
+ * Usage in a page object:
+ *   PageFactory.initElements(new CachingFieldDecorator(driver), this);
+ *
+ * Add @CacheLookup to a @FindBy field to find it only once per page instance.
+ * If a cached element turns stale (the page re-rendered it), it is found again
+ * and the call is retried once, so page methods never see the stale error.
+ * The same goes for each element of a List<WebElement> field.
+ */
+public class CachingFieldDecorator extends DefaultFieldDecorator {
+
+    public CachingFieldDecorator(SearchContext searchContext) {
+        super(field -> new CachingElementLocator(searchContext, new Annotations(field)));
+    }
+
+    /**
+     * Short, stable name of an element for stats and logs, e.g. "By.name: username".
+     * Never calls the browser: a PageFactory proxy's own toString() would look the element up.
+     */
+    public static String locatorOf(WebElement element) {
+        if (element != null && Proxy.isProxyClass(element.getClass())
+                && Proxy.getInvocationHandler(element) instanceof StaleAwareElementHandler handler) {
+            return handler.locator instanceof CachingElementLocator cachingLocator
+                    ? cachingLocator.getBy().toString()
+                    : handler.locator.toString();
+        }
+        // A plain RemoteWebElement: "[[ChromeDriver: chrome on linux (session)] -> name: username]"
+        String text = String.valueOf(element);
+        int arrow = text.lastIndexOf("-> ");
+        return arrow >= 0 && text.endsWith("]") ? text.substring(arrow + 3, text.length() - 1) : text;
+    }
+
+    @Override
+    protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+        return elementProxy(loader, new StaleAwareElementHandler(locator, -1));
+    }
+
+    /**
+     * List<WebElement> fields: each element of the list gets the same stale retry,
+     * re-finding the list and taking the element at the same position.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<WebElement> proxyForListLocator(ClassLoader loader, ElementLocator locator) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            int size = locator.findElements().size();
+            List<WebElement> elements = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                elements.add(elementProxy(loader, new StaleAwareElementHandler(locator, i)));
+            }
+            try {
+                return method.invoke(elements, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (List<WebElement>) Proxy.newProxyInstance(loader, new Class<?>[]{List.class}, handler);
+    }
+
+    private static WebElement elementProxy(ClassLoader loader, StaleAwareElementHandler handler) {
+        return (WebElement) Proxy.newProxyInstance(
+                loader, new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class}, handler);
+    }
+
+    /**
+     * Same as Selenium's LocatingElementHandler, plus one retry with a fresh
+     * lookup when the element went stale.
+     * index >= 0: the element at that position of a List field.
+     */
+    private static class StaleAwareElementHandler implements InvocationHandler {
+
+        private final ElementLocator locator;
+        private final int index;
+
+        StaleAwareElementHandler(ElementLocator locator, int index) {
+            this.locator = locator;
+            this.index = index;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                return invokeOnElement(method, args);
+            } catch (StaleElementReferenceException e) {
+                if (locator instanceof CachingElementLocator cachingLocator) {
+                    cachingLocator.invalidate();
+                }
+                return invokeOnElement(method, args);
+            }
+        }
+
+        private Object invokeOnElement(Method method, Object[] args) throws Throwable {
+            WebElement element;
+            try {
+                element = find();
+            } catch (NoSuchElementException e) {
+                if ("toString".equals(method.getName())) {
+                    return "Proxy element for: " + locator + (index >= 0 ? " [" + index + "]" : "");
+                }
+                throw e;
+            }
+
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private WebElement find() {
+            if (index < 0) {
+                return locator.findElement();
+            }
+            List<WebElement> elements = locator.findElements();
+            if (index >= elements.size()) {
+                throw new NoSuchElementException("Element " + index + " of " + locator
+                        + " is gone (the list now has " + elements.size() + ")");
+            }
+            return elements.get(index);
+        }
+    }
+}
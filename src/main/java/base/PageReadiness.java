@@ -0,0 +1,184 @@
+package base;
+
+import config.ConfigReader;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import reporting.LatencyHistogram;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PageReadiness
+ * ---------------
+ * Purpose:
+ * Tells when an OrangeHRM page is really ready to use. OrangeHRM is a Vue app: the
+ * browser's "load" event says little (the page keeps fetching data over XHR after it),
+ * and waiting for every image and font before returning from get() wastes time.
+ *
+ * How it works:
+ *  - The browser returns early ('page.load.strategy' = eager or none, see DriverManager)
+ *  - A small tracker script in the page counts running XHR/fetch requests
+ *    (Chrome/Edge: added to every new document through DevTools; other browsers:
+ *    added on the first readiness check of each page)
+ *  - A page is ready when the document is parsed, 'page.ready.selector' exists
+ *    (the app has rendered), no request is running and nothing happened for 'page.ready.idle.ms'
+ *
+ * Awaited after opening the base URL and after actions that load a page (BasePage.waitForPageReady).
+ * Readiness times are recorded per page and printed at suite end by TestRunner.
+ */
+public class PageReadiness {
+
+    private static final Logger log = LogManager.getLogger(PageReadiness.class);
+
+    // Counts pending XHR/fetch requests and remembers the last network activity, click or submit.
+    // 'leaving' is set once the page starts unloading, so the old page is never reported ready.
+    private static final String TRACKER =
+            "(function () {"
+                    + " if (window.__qaNet) { return; }"
+                    + " var net = window.__qaNet = {pending: 0, last: Date.now(), leaving: false};"
+                    + " function start() { net.pending++; net.last = Date.now(); }"
+                    + " function end() { net.pending = Math.max(0, net.pending - 1); net.last = Date.now(); }"
+                    + " var send = XMLHttpRequest.prototype.send;"
+                    + " XMLHttpRequest.prototype.send = function () {"
+                    + "   start(); this.addEventListener('loadend', end);"
+                    + "   try { return send.apply(this, arguments); } catch (e) { end(); throw e; }"
+                    + " };"
+                    + " if (window.fetch) {"
+                    + "   var fetch = window.fetch;"
+                    + "   window.fetch = function () {"
+                    + "     start();"
+                    + "     return fetch.apply(this, arguments).then("
+                    + "       function (r) { end(); return r; }, function (e) { end(); throw e; });"
+                    + "   };"
+                    + " }"
+                    + " ['click', 'submit'].forEach(function (type) {"
+                    + "   document.addEventListener(type, function () { net.last = Date.now(); }, true);"
+                    + " });"
+                    + " window.addEventListener('beforeunload', function () { net.leaving = true; });"
+                    + "})();";
+
+    // Returns the page path when ready, null otherwise
+    private static final String IS_READY =
+            "var idleMs = arguments[0], selector = arguments[1];"
+                    + TRACKER
+                    + " var net = window.__qaNet;"
+                    + " if (net.leaving || document.readyState === 'loading') { return null; }"
+                    + " if (selector && !document.querySelector(selector)) { return null; }"
+                    + " if (net.pending > 0 || Date.now() - net.last < idleMs) { return null; }"
+                    + " return location.pathname;";
+
+    // page path → time until ready
+    private static final Map<String, LatencyHistogram> readyTimes = new ConcurrentHashMap<>();
+    private static final LongAdder timeouts = new LongAdder();
+
+    private PageReadiness() {
+    }
+
+    /**
+     * The configured 'page.load.strategy' (normal, eager or none).
+     */
+    public static PageLoadStrategy strategy() {
+        String configured = ConfigReader.getProperty("page.load.strategy");
+        if (configured == null || configured.isBlank()) {
+            return PageLoadStrategy.NORMAL;
+        }
+        try {
+            return PageLoadStrategy.valueOf(configured.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported page.load.strategy in config.properties: " + configured, e);
+        }
+    }
+
+    /**
+     * Adds the tracker to every document the browser opens from now on (Chrome/Edge).
+     * Must be called on the undecorated driver, before the first page is opened.
+     * Other browsers get the tracker on their first readiness check instead.
+     */
+    public static void install(WebDriver webDriver) {
+        if (!isEnabled()) {
+            return;
+        }
+        Optional<DevTools> devTools = webDriver instanceof HasDevTools hasDevTools
+                ? hasDevTools.maybeGetDevTools()
+                : Optional.empty();
+        if (devTools.isEmpty()) {
+            return;
+        }
+        try {
+            devTools.get().createSessionIfThereIsNotOne();
+            devTools.get().send(new Command<Void>("Page.addScriptToEvaluateOnNewDocument", Map.of("source", TRACKER)));
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Could not install the page readiness tracker: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until the current page is ready (up to 'page.load.timeout').
+     * Never fails the scenario: on timeout it logs a warning and the element waits take over.
+     */
+    public static void await(WebDriver driver) {
+        if (!isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int idleMs = ConfigReader.getIntProperty("page.ready.idle.ms");
+        String selector = ConfigReader.getProperty("page.ready.selector");
+        SmartWait wait = new SmartWait(driver, Duration.ofSeconds(ConfigReader.getIntProperty("page.load.timeout")));
+
+        try {
+            String page = wait.until("page ready",
+                    webDriver -> (String) ((JavascriptExecutor) webDriver).executeScript(IS_READY, idleMs, selector));
+            readyTimes.computeIfAbsent(page, p -> new LatencyHistogram()).record(System.nanoTime() - start);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.warn("⚠️ Page not ready after {} s (requests still running?) → continuing: {}",
+                    ConfigReader.getIntProperty("page.load.timeout"), pageOf(driver));
+        }
+    }
+
+    /**
+     * Prints readiness times per page, slowest first.
+     */
+    public static void printStats() {
+        if (readyTimes.isEmpty() && timeouts.sum() == 0) {
+            return;
+        }
+        log.info("🧭 Page readiness (count | p50 ms | p90 ms | max ms | page)");
+        readyTimes.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, LatencyHistogram> e) -> e.getValue().percentileMillis(0.90)).reversed())
+                .forEach(e -> log.printf(Level.INFO, "   %5d | %7.1f | %7.1f | %7.1f | %s",
+                        e.getValue().getCount(), e.getValue().percentileMillis(0.50),
+                        e.getValue().percentileMillis(0.90), e.getValue().getMaxMillis(), e.getKey()));
+        if (timeouts.sum() > 0) {
+            log.info("   not ready in time: {}", timeouts.sum());
+        }
+    }
+
+    private static boolean isEnabled() {
+        return ConfigReader.getBooleanProperty("page.ready.enabled");
+    }
+
+    private static String pageOf(WebDriver driver) {
+        try {
+            String url = driver.getCurrentUrl();
+            String path = URI.create(url).getPath();
+            return path == null || path.isEmpty() ? url : path;
+        } catch (RuntimeException e) {
+            return "(unknown page)";
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package base;
+
+import config.ConfigReader;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * SmartWait
+ * -----------
+ * Purpose:
+ * The framework's only way of waiting for elements (implicit waits are turned off).
+ *
+ * Why not a plain WebDriverWait:
+ *  - WebDriverWait polls every 500 ms, so even an element that appears after 20 ms
+ *    costs half a second. SmartWait polls fast at first (10, 25, 50 ms ...) and
+ *    backs off to 500 ms for slow conditions.
+ *  - Optionally ('wait.mutation.observer = true') the pause between polls ends as soon
+ *    as the DOM changes, using a browser-side MutationObserver instead of sleeping.
+ *  - Every wait is recorded in WaitStats under its label (e.g. "visible By.name: username").
+ *    The label is given by the caller: a condition's own toString() can cost a browser
+ *    round-trip (PageFactory proxies look the element up) and contains the session id.
+ */
+public class SmartWait {
+
+    // Pause before each re-check; the last value repeats
+    private static final long[] POLL_STEPS_MS = {10, 25, 50, 100, 200, 350, 500};
+
+    // Upper bound for one MutationObserver pause (the condition is re-checked after it anyway)
+    private static final long MAX_OBSERVER_PAUSE_MS = 2000;
+
+    private static final String AWAIT_DOM_CHANGE =
+            "var done = arguments[arguments.length - 1];"
+                    + " var timer;"
+                    + " var observer = new MutationObserver(function () { clearTimeout(timer); observer.disconnect(); done(true); });"
+                    + " observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});"
+                    + " timer = setTimeout(function () { observer.disconnect(); done(false); }, arguments[0]);";
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final boolean useMutationObserver;
+
+    public SmartWait(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.useMutationObserver = ConfigReader.getBooleanProperty("wait.mutation.observer");
+    }
+
+    /**
+     * Waits up to the default timeout until the condition returns a non-null, non-false value.
+     *
+     * @param label what is waited for, e.g. "clickable By.id: login" (WaitStats key, timeout message)
+     */
+    public <T> T until(String label, Function<WebDriver, T> condition) {
+        return until(label, condition, timeout);
+    }
+
+    /**
+     * Waits up to the given timeout until the condition returns a non-null, non-false value.
+     * Throws TimeoutException when it never does.
+     */
+    public <T> T until(String label, Function<WebDriver, T> condition, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        RuntimeException lastError = null;
+        int attempt = 0;
+
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    WaitStats.record(label, System.nanoTime() - start, false);
+                    return value;
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                // Element not there yet (or re-rendered) → try again
+                lastError = e;
+            }
+
+            long remainingMs = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMs <= 0) {
+                long elapsed = System.nanoTime() - start;
+                WaitStats.record(label, elapsed, true);
+                throw new TimeoutException("Expected condition failed: " + label
+                        + " (tried for " + elapsed / 1_000_000 + " ms)", lastError);
+            }
+
+            pause(attempt++, remainingMs);
+        }
+    }
+
+    private void pause(int attempt, long remainingMs) {
+        if (useMutationObserver) {
+            try {
+                long maxPause = Math.min(remainingMs, MAX_OBSERVER_PAUSE_MS);
+                ((JavascriptExecutor) driver).executeAsyncScript(AWAIT_DOM_CHANGE, maxPause);
+                return;
+            } catch (RuntimeException e) {
+                // Page was navigating or scripts are blocked → fall back to a normal sleep
+            }
+        }
+
+        long step = POLL_STEPS_MS[Math.min(attempt, POLL_STEPS_MS.length - 1)];
+        try {
+            Thread.sleep(Math.min(step, remainingMs));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+}
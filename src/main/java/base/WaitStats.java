@@ -0,0 +1,74 @@
+package base;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WaitStats
+ * -----------
+ * Purpose:
+ * Collects how long each wait condition took (count, total, max, timeouts),
+ * so we can see which waits slow the suite down.
+ *
+ * Filled by SmartWait, printed once at suite end by TestRunner.
+ * Thread-safe: parallel scenarios record into the same table.
+ */
+public class WaitStats {
+
+    private static final Logger log = LogManager.getLogger(WaitStats.class);
+
+    private static final Map<String, Stat> stats = new ConcurrentHashMap<>();
+
+    private WaitStats() {
+    }
+
+    /**
+     * Records one finished wait.
+     */
+    static void record(String condition, long elapsedNanos, boolean timedOut) {
+        Stat stat = stats.computeIfAbsent(condition, c -> new Stat());
+        stat.count.increment();
+        stat.totalNanos.add(elapsedNanos);
+        stat.maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        if (timedOut) {
+            stat.timeouts.increment();
+        }
+    }
+
+    /**
+     * Prints a table of all wait conditions, slowest (by total time) first.
+     */
+    public static void print() {
+        if (stats.isEmpty()) {
+            return;
+        }
+
+        log.info("⏱️ Wait statistics (count | avg ms | max ms | timeouts | condition)");
+        stats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Stat> e) -> e.getValue().totalNanos.sum()).reversed())
+                .forEach(e -> {
+                    Stat stat = e.getValue();
+                    long count = stat.count.sum();
+                    log.printf(Level.INFO, "   %6d | %7.1f | %7.1f | %4d | %s",
+                            count,
+                            stat.totalNanos.sum() / 1_000_000.0 / count,
+                            stat.maxNanos.get() / 1_000_000.0,
+                            stat.timeouts.sum(),
+                            e.getKey());
+                });
+    }
+
+    private static final class Stat {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder timeouts = new LongAdder();
+    }
+}
@@ -1,8 +1,15 @@
 package config;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * ConfigReader
@@ -14,73 +21,179 @@ import java.util.Properties;
  * Why we need it:
  * - To avoid hardcoding important values (like URLs, browsers, timeouts)
  * - To make the framework flexible and environment-independent
+ *
+ * Layers (later ones win):
+ *  1. config.properties
+ *  2. config-<environment>.properties (e.g. environment = QA → config-qa.properties), if present
+ *  3. Environment variables with the ORANGEHRM_ prefix (base.url → ORANGEHRM_BASE_URL).
+ *     The prefix keeps machine variables like USERNAME out of the config.
+ *     New keys are allowed: ORANGEHRM_ROLE_HR_USERNAME → role.hr.username
+ *  4. System properties (-Dbase.url=...), also for keys not in the files (-Drole.HR.username=...)
+ *  5. Runtime overrides (setProperty)
+ *
+ * Everything is loaded ONCE into an immutable ConfigSnapshot. Readers never lock;
+ * reload() builds a new snapshot and swaps it in atomically.
  */
 public class ConfigReader {
 
-    // 'Properties' is a Java class that stores data as key=value pairs (like our config file)
-    private static Properties properties = new Properties();
+    private static final Logger log = LogManager.getLogger(ConfigReader.class);
+
+    // Only environment variables starting with this are read
+    private static final String ENV_PREFIX = "ORANGEHRM_";
+
+    // The current, fully merged configuration (swapped atomically on reload / override)
+    private static final AtomicReference<ConfigSnapshot> snapshot = new AtomicReference<>();
+
+    // Values set at runtime with setProperty(); they survive reload()
+    private static final Map<String, String> overrides = new ConcurrentHashMap<>();
 
     /**
      * 🧩 loadProperties()
      * -------------------
-     * This method loads our config.properties file from the resources folder.
-     * It reads the file and stores all key=value pairs into memory.
+     * Makes sure the configuration is loaded.
+     * Safe to call many times (e.g. in every BaseTest.setUp()) — the files are read only once.
      */
     public static void loadProperties() {
-        try {
-            // The file is inside 'resources', so we use the class loader to find it.
-            InputStream inputStream = ConfigReader.class.getClassLoader()
-                    .getResourceAsStream("config.properties");
-
-            if (inputStream == null) {
-                throw new RuntimeException("config.properties file not found inside resources folder!");
-            }
-
-            // Load all key=value pairs into the 'properties' object
-            properties.load(inputStream);
-
-        } catch (IOException e) {
-            // If something goes wrong while reading the file, print an error
-            System.out.println("Error loading config.properties file: " + e.getMessage());
+        if (snapshot.get() == null) {
+            snapshot.compareAndSet(null, buildSnapshot());
         }
     }
 
+    /**
+     * 🧩 reload()
+     * -----------
+     * Reads all layers again and swaps in the new values.
+     * Threads reading at the same time keep seeing the old values until the swap.
+     */
+    public static void reload() {
+        snapshot.set(buildSnapshot());
+    }
+
     /**
      * 🧩 getProperty(String key)
      * --------------------------
-     * This method returns the value for a given key from the properties file.
+     * This method returns the value for a given key from the configuration.
      * Example:
      * getProperty("browser") → returns "chrome"
      */
     public static String getProperty(String key) {
-        // If properties are not loaded yet, load them first
-        if (properties.isEmpty()) {
-            loadProperties();
-        }
+        return current().get(key);
+    }
 
-        // Return the value for the given key
-        return properties.getProperty(key);
+    /**
+     * 🧩 setProperty(String key, String value)
+     * ----------------------------------------
+     * Overrides a value at runtime (e.g. base.url of a locally started server).
+     * The config.properties file itself is not changed.
+     */
+    public static void setProperty(String key, String value) {
+        overrides.put(key, value);
+        snapshot.updateAndGet(old -> {
+            Map<String, String> values = new HashMap<>(old == null ? buildSnapshot().asMap() : old.asMap());
+            values.put(key, value);
+            return new ConfigSnapshot(values);
+        });
     }
 
     /**
      * 🧩 getIntProperty(String key)
      * -----------------------------
      * Sometimes, values are numbers (like wait times).
-     * This method converts them from String to int safely.
+     * This method converts them from String to int (parsed once, then cached).
      */
     public static int getIntProperty(String key) {
-        String value = getProperty(key);
-        return Integer.parseInt(value);
+        return current().getInt(key);
     }
 
     /**
      * 🧩 getBooleanProperty(String key)
      * ---------------------------------
      * Sometimes, values are true/false (like headless mode).
-     * This method converts them to boolean.
+     * This method converts them to boolean (parsed once, then cached).
      */
     public static boolean getBooleanProperty(String key) {
-        String value = getProperty(key);
-        return Boolean.parseBoolean(value);
+        return current().getBoolean(key);
+    }
+
+    private static ConfigSnapshot current() {
+        ConfigSnapshot current = snapshot.get();
+        if (current == null) {
+            loadProperties();
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    /**
+     * Reads and merges all layers into a new snapshot.
+     */
+    private static ConfigSnapshot buildSnapshot() {
+        Map<String, String> values = new HashMap<>();
+
+        // 1. Base file (required)
+        if (!loadFile("config.properties", values)) {
+            throw new RuntimeException("config.properties file not found inside resources folder!");
+        }
+
+        // 2. Environment file (optional); the environment itself may come from -D / env vars
+        String environment = firstNonBlank(
+                System.getProperty("environment"), System.getenv(envName("environment")), values.get("environment"));
+        if (environment != null) {
+            loadFile("config-" + environment.trim().toLowerCase() + ".properties", values);
+        }
+
+        // 3. ORANGEHRM_* environment variables: known keys keep their spelling, new keys are lowercased
+        Map<String, String> keysByEnvName = new HashMap<>();
+        values.keySet().forEach(key -> keysByEnvName.put(envName(key), key));
+        System.getenv().forEach((name, value) -> {
+            if (name.startsWith(ENV_PREFIX) && name.length() > ENV_PREFIX.length()) {
+                String key = keysByEnvName.getOrDefault(name,
+                        name.substring(ENV_PREFIX.length()).toLowerCase().replace('_', '.'));
+                values.put(key, value);
+            }
+        });
+
+        // 4. System properties override known keys and may add new ones
+        for (String key : System.getProperties().stringPropertyNames()) {
+            values.put(key, System.getProperty(key));
+        }
+
+        // 5. Runtime overrides
+        values.putAll(overrides);
+
+        return new ConfigSnapshot(values);
+    }
+
+    /**
+     * The environment variable for a key: base.url → ORANGEHRM_BASE_URL
+     */
+    private static String envName(String key) {
+        return ENV_PREFIX + key.toUpperCase().replace('.', '_').replace('-', '_');
+    }
+
+    private static boolean loadFile(String name, Map<String, String> values) {
+        // The file is inside 'resources', so we use the class loader to find it.
+        try (InputStream inputStream = ConfigReader.class.getClassLoader().getResourceAsStream(name)) {
+            if (inputStream == null) {
+                return false;
+            }
+            Properties properties = new Properties();
+            properties.load(inputStream);
+            properties.forEach((key, value) -> values.put(key.toString(), value.toString().trim()));
+            return true;
+        } catch (IOException e) {
+            // If something goes wrong while reading the file, print an error
+            log.warn("Error loading {} file: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    private static String firstNonBlank(String... candidates) {
+        for (String candidate : candidates) {
+            if (candidate != null && !candidate.isBlank()) {
+                return candidate;
+            }
+        }
+        return null;
     }
 }
@@ -0,0 +1,54 @@
+package config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ConfigSnapshot
+ * ----------------
+ * Purpose:
+ * One fully-resolved, read-only view of the configuration
+ * (all layers already merged by ConfigReader).
+ *
+ * Why it exists:
+ * - The values never change after creation, so any number of threads
+ *   can read them at the same time without locks
+ * - Parsed ints/booleans are cached, so "10" is parsed only once
+ * - A reload simply builds a new snapshot and swaps it in
+ */
+final class ConfigSnapshot {
+
+    private final Map<String, String> values;
+    private final Map<String, Integer> intCache = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> booleanCache = new ConcurrentHashMap<>();
+
+    ConfigSnapshot(Map<String, String> values) {
+        this.values = Map.copyOf(values);
+    }
+
+    String get(String key) {
+        return values.get(key);
+    }
+
+    int getInt(String key) {
+        Integer cached = intCache.get(key);
+        if (cached == null) {
+            // Missing or non-numeric values throw NumberFormatException (nothing is cached)
+            String value = values.get(key);
+            if (value == null) {
+                throw new NumberFormatException("No value for '" + key + "' in config");
+            }
+            cached = Integer.parseInt(value.trim());
+            intCache.put(key, cached);
+        }
+        return cached;
+    }
+
+    boolean getBoolean(String key) {
+        return booleanCache.computeIfAbsent(key, k -> Boolean.parseBoolean(values.get(k)));
+    }
+
+    Map<String, String> asMap() {
+        return values;
+    }
+}
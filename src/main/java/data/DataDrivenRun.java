@@ -0,0 +1,316 @@
+package data;
+
+import config.ConfigReader;
+import driver.DriverManager;
+import execution.Shard;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import reporting.LatencyHistogram;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * DataDrivenRun
+ * ---------------
+ * Purpose:
+ * Runs one scenario's flow for every row of a large dataset, tagged on the scenario
+ * as @dataset(file), e.g. @dataset(login-credentials.csv).
+ *
+ * How it works:
+ *  - Rows are read one at a time (DataReader) and handed to the next free worker, so
+ *    memory stays flat whatever the file size
+ *  - 'dataset.workers' workers run at once, each with its own browser (DriverManager);
+ *    the scenario's own thread and browser is worker 1
+ *  - When sharded (-Dshard=i/N), every shard runs the scenario (ScenarioScheduler keeps
+ *    @dataset scenarios in all shards) and each one only its every N-th row, so the
+ *    dataset is split across JVMs/machines as well
+ *  - A failing row doesn't stop the others: the result of every row (status, time, error)
+ *    goes to a compact CSV in 'dataset.results.dir', and the scenario gets ONE summary
+ *    (counts, timings, first failures) instead of one report entry per row
+ *
+ * Used from Hooks (select / finish) and from step definitions (forEachRow).
+ */
+public class DataDrivenRun {
+
+    private static final Logger log = LogManager.getLogger(DataDrivenRun.class);
+
+    // dataset and summary of the scenario running on this thread
+    private static final ThreadLocal<String> dataset = new ThreadLocal<>();
+    private static final ThreadLocal<Summary> summary = new ThreadLocal<>();
+
+    private DataDrivenRun() {
+    }
+
+    /**
+     * Sets the dataset for the scenario on this thread (from its @dataset tag).
+     */
+    public static void select(String name) {
+        dataset.set(name);
+        summary.remove();
+    }
+
+    /**
+     * Runs 'action' for every row of the selected dataset (this shard's rows only).
+     * Throws an AssertionError listing the first failures when any row failed.
+     */
+    public static Summary forEachRow(String scenario, Consumer<DataRow> action) {
+        String name = dataset.get();
+        if (name == null) {
+            throw new RuntimeException("No dataset for this scenario: tag it with @dataset(<file>)");
+        }
+        int workers = Math.max(1, ConfigReader.getIntProperty("dataset.workers"));
+        Shard shard = Shard.current();
+
+        Summary result;
+        try (DataReader reader = DataReader.open(name);
+             ResultWriter results = new ResultWriter(resultsFile(scenario, name, shard))) {
+            result = new Summary(name, results.file, ConfigReader.getIntProperty("dataset.failures.shown"));
+            RowFeed feed = new RowFeed(reader, shard);
+            log.info("📚 Dataset {} → {} worker(s){}", name, workers,
+                    shard.isSharded() ? ", shard " + shard + " rows only" : "");
+
+            runWorkers(workers, () -> work(feed, action, result, results));
+        }
+        summary.set(result);
+        log.info("📚 {}", result);
+
+        if (result.failed.sum() > 0) {
+            throw new AssertionError(result.toString());
+        }
+        return result;
+    }
+
+    /**
+     * The summary of this thread's data-driven scenario (null if it had none); forgets it.
+     */
+    public static Summary finish() {
+        Summary result = summary.get();
+        summary.remove();
+        dataset.remove();
+        return result;
+    }
+
+    /**
+     * Runs the worker loop on this thread and on workers - 1 extra threads,
+     * each extra one with its own browser and the scenario's log context.
+     */
+    private static void runWorkers(int workers, Runnable loop) {
+        if (workers == 1) {
+            loop.run();
+            return;
+        }
+        Map<String, String> context = ThreadContext.getImmutableContext();
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ExecutorService extra = Executors.newFixedThreadPool(workers - 1, r -> {
+            Thread thread = new Thread(r, "dataset-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 1; i < workers; i++) {
+                running.add(extra.submit(() -> {
+                    ThreadContext.putAll(context);
+                    ThreadContext.remove("session");
+                    try {
+                        DriverManager.getDriver(); // this worker's own browser (tagged with its session)
+                        loop.run();
+                    } finally {
+                        DriverManager.quitDriver();
+                        ThreadContext.clearMap();
+                    }
+                }));
+            }
+            loop.run();
+            for (Future<?> future : running) {
+                try {
+                    future.get();
+                } catch (Exception e) {
+                    throw new RuntimeException("Dataset worker failed: " + e.getMessage(), e);
+                }
+            }
+        } finally {
+            extra.shutdownNow();
+        }
+    }
+
+    private static void work(RowFeed feed, Consumer<DataRow> action, Summary result, ResultWriter results) {
+        DataRow row;
+        while ((row = feed.next()) != null) {
+            long start = System.nanoTime();
+            String error = null;
+            try {
+                action.accept(row);
+            } catch (RuntimeException | AssertionError e) {
+                error = e.getClass().getSimpleName() + ": " + String.valueOf(e.getMessage()).lines().findFirst().orElse("");
+            }
+            long nanos = System.nanoTime() - start;
+            result.record(row, nanos, error);
+            results.write(row, nanos, error);
+        }
+    }
+
+    private static File resultsFile(String scenario, String name, Shard shard) {
+        String dataset = name.contains(".") ? name.substring(0, name.lastIndexOf('.')) : name;
+        String base = (scenario + "-" + dataset).replaceAll("[^A-Za-z0-9._-]+", "_");
+        File dir = shard.resolve(new File(ConfigReader.getProperty("dataset.results.dir")));
+        return new File(dir, base + ".csv");
+    }
+
+    /**
+     * Hands out rows one at a time to whichever worker asks first (skipping other shards' rows).
+     */
+    private static final class RowFeed {
+        private final DataReader reader;
+        private final Shard shard;
+
+        RowFeed(DataReader reader, Shard shard) {
+            this.reader = reader;
+            this.shard = shard;
+        }
+
+        synchronized DataRow next() {
+            while (reader.hasNext()) {
+                DataRow row = reader.next();
+                if ((row.index() - 1) % shard.getTotal() == shard.getIndex() - 1) {
+                    return row;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * One CSV line per row: row,status,ms,thread,error
+     */
+    private static final class ResultWriter implements AutoCloseable {
+        private final File file;
+        private final BufferedWriter out;
+
+        ResultWriter(File file) {
+            this.file = file;
+            try {
+                file.getAbsoluteFile().getParentFile().mkdirs();
+                this.out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+                out.write("row,status,ms,thread,error");
+                out.newLine();
+            } catch (IOException e) {
+                throw new RuntimeException("Could not create dataset results file " + file + ": " + e.getMessage(), e);
+            }
+        }
+
+        synchronized void write(DataRow row, long nanos, String error) {
+            try {
+                out.write(row.index() + "," + (error == null ? "P" : "F") + "," + nanos / 1_000_000 + ","
+                        + Thread.currentThread().getName() + "," + (error == null ? "" : quote(error)));
+                out.newLine();
+            } catch (IOException e) {
+                log.warn("⚠️ Could not write dataset result for {}: {}", row, e.getMessage());
+            }
+        }
+
+        private static String quote(String text) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+
+        @Override
+        public void close() {
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.warn("⚠️ Could not close dataset results file: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Counts, timings and the first few failures of one data-driven run.
+     */
+    public static final class Summary {
+        private final String dataset;
+        private final File resultsFile;
+        private final int failuresShown;
+        private final LongAdder passed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LatencyHistogram rowTimes = new LatencyHistogram();
+        private final List<String> firstFailures = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicBoolean failuresFull = new AtomicBoolean();
+
+        private Summary(String dataset, File resultsFile, int failuresShown) {
+            this.dataset = dataset;
+            this.resultsFile = resultsFile;
+            this.failuresShown = Math.max(0, failuresShown);
+        }
+
+        private void record(DataRow row, long nanos, String error) {
+            rowTimes.record(nanos);
+            if (error == null) {
+                passed.increment();
+                return;
+            }
+            failed.increment();
+            if (!failuresFull.get()) {
+                synchronized (firstFailures) {
+                    if (firstFailures.size() < failuresShown) {
+                        // only the row number: column values may be credentials (password, ...)
+                        firstFailures.add(row + " → " + error);
+                    } else {
+                        failuresFull.set(true);
+                    }
+                }
+            }
+        }
+
+        public long getPassed() {
+            return passed.sum();
+        }
+
+        public long getFailed() {
+            return failed.sum();
+        }
+
+        public File getResultsFile() {
+            return resultsFile;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder()
+                    .append("Dataset ").append(dataset).append(": ")
+                    .append(passed.sum() + failed.sum()).append(" rows, ")
+                    .append(passed.sum()).append(" passed, ")
+                    .append(failed.sum()).append(" failed")
+                    .append(String.format(" (per row p50 %.0f ms, p90 %.0f ms, max %.0f ms)",
+                            rowTimes.percentileMillis(0.50), rowTimes.percentileMillis(0.90), rowTimes.getMaxMillis()))
+                    .append("\nPer-row results: ").append(resultsFile.getPath());
+            if (!firstFailures.isEmpty()) {
+                text.append("\nFirst failures:");
+                synchronized (firstFailures) {
+                    for (String failure : firstFailures) {
+                        text.append("\n  ").append(failure);
+                    }
+                }
+                if (failed.sum() > firstFailures.size()) {
+                    text.append("\n  ... ").append(failed.sum() - firstFailures.size()).append(" more in the results file");
+                }
+            }
+            return text.toString();
+        }
+    }
+}
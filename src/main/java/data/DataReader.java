@@ -0,0 +1,269 @@
+package data;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import config.ConfigReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * DataReader
+ * ------------
+ * Purpose:
+ * Reads a dataset ONE ROW AT A TIME, so files with hundreds of thousands of rows
+ * never have to fit in memory.
+ *
+ * Formats (by file extension):
+ *  - .csv   → first line is the header; quoted values may contain commas, quotes ("") and line breaks;
+ *             values are taken as they are (no trimming: spaces in a password matter)
+ *  - .json  → an array of flat objects: [{"username": "Admin", ...}, ...]
+ *  - .jsonl → one flat object per line
+ *
+ * Where files are found: 'dataset.dir' when set (e.g. a mounted share), otherwise
+ * the classpath folder data/ (src/test/resources/data/).
+ */
+public class DataReader implements Iterator<DataRow>, Closeable {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final RowSource source;
+    private Map<String, String> next;
+    private long index;
+
+    private DataReader(RowSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Opens a dataset by file name, e.g. "login-credentials.csv".
+     */
+    public static DataReader open(String name) {
+        String lowerName = name.toLowerCase();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(locate(name), StandardCharsets.UTF_8));
+            if (lowerName.endsWith(".csv")) {
+                return new DataReader(new CsvSource(reader));
+            }
+            if (lowerName.endsWith(".jsonl")) {
+                return new DataReader(new JsonLinesSource(reader));
+            }
+            if (lowerName.endsWith(".json")) {
+                return new DataReader(new JsonArraySource(mapper.getFactory().createParser(reader)));
+            }
+            reader.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not open dataset " + name + ": " + e.getMessage(), e);
+        }
+        throw new RuntimeException("Unsupported dataset format (use .csv, .json or .jsonl): " + name);
+    }
+
+    private static InputStream locate(String name) throws IOException {
+        String dir = ConfigReader.getProperty("dataset.dir");
+        if (dir != null && !dir.isBlank()) {
+            return Files.newInputStream(new File(dir.trim(), name).toPath());
+        }
+        InputStream stream = DataReader.class.getClassLoader().getResourceAsStream("data/" + name);
+        if (stream == null) {
+            throw new RuntimeException("Dataset not found on the classpath: data/" + name
+                    + " (or set 'dataset.dir')");
+        }
+        return stream;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = source.read();
+            } catch (IOException e) {
+                throw new RuntimeException("Could not read dataset row " + (index + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public DataRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        DataRow row = new DataRow(++index, next);
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() {
+        try {
+            source.close();
+        } catch (IOException e) {
+            // Nothing left to read from it anyway
+        }
+    }
+
+    /** Reads the next row, or null at the end */
+    private interface RowSource extends Closeable {
+        Map<String, String> read() throws IOException;
+    }
+
+    private static final class CsvSource implements RowSource {
+        private final BufferedReader reader;
+        private List<String> header;
+
+        CsvSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Map<String, String> read() throws IOException {
+            if (header == null) {
+                header = readRecord();
+                if (header == null) return null;
+                // Drop the byte order mark some editors put at the start of the file
+                if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+                    header.set(0, header.get(0).substring(1));
+                }
+                header.replaceAll(String::trim);
+            }
+            List<String> values;
+            do {
+                values = readRecord();
+                if (values == null) return null;
+            } while (values.size() == 1 && values.get(0).isEmpty()); // blank line
+
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                row.put(header.get(i), i < values.size() ? values.get(i) : "");
+            }
+            return row;
+        }
+
+        /**
+         * One CSV record (may span several lines when a quoted value contains line breaks).
+         */
+        private List<String> readRecord() throws IOException {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) break;
+                    // Line break inside a quoted value
+                    line = reader.readLine();
+                    if (line == null) break;
+                    value.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c == '"' && i < line.length() && line.charAt(i) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            values.add(value.toString());
+            return values;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static final class JsonArraySource implements RowSource {
+        private final JsonParser parser;
+        private boolean started;
+
+        JsonArraySource(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        public Map<String, String> read() throws IOException {
+            if (!started) {
+                started = true;
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IOException("a .json dataset must be an array of objects");
+                }
+            }
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            return toRow(mapper.readTree(parser));
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+
+    private static final class JsonLinesSource implements RowSource {
+        private final BufferedReader reader;
+
+        JsonLinesSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Map<String, String> read() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) return null;
+            } while (line.isBlank());
+            return toRow(mapper.readTree(line));
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static Map<String, String> toRow(JsonNode node) throws IOException {
+        if (!node.isObject()) {
+            throw new IOException("expected a JSON object per row but got: " + node.getNodeType());
+        }
+        Map<String, String> row = new LinkedHashMap<>();
+        node.fields().forEachRemaining(field -> row.put(field.getKey(),
+                field.getValue().isNull() ? null : field.getValue().isValueNode()
+                        ? field.getValue().asText() : field.getValue().toString()));
+        return row;
+    }
+}
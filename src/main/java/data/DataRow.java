@@ -0,0 +1,31 @@
+package data;
+
+import java.util.Map;
+
+/**
+ * DataRow
+ * ---------
+ * Purpose:
+ * One row of a dataset (CSV line or JSON object) as column → value.
+ *
+ * @param index 1-based position in the file (also used to split rows between shards)
+ */
+public record DataRow(long index, Map<String, String> values) {
+
+    /**
+     * The value of a column; fails clearly when the dataset doesn't have it.
+     */
+    public String get(String column) {
+        String value = values.get(column);
+        if (value == null && !values.containsKey(column)) {
+            throw new RuntimeException("Dataset row " + index + " has no column '" + column + "' (columns: "
+                    + values.keySet() + ")");
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "row " + index;
+    }
+}
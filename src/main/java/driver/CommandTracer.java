@@ -0,0 +1,257 @@
+package driver;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.support.events.WebDriverListener;
+import reporting.LatencyHistogram;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CommandTracer
+ * ----------------
+ * Purpose:
+ * Shows how many WebDriver commands (browser round-trips) our page actions
+ * really cost, and how long each one takes.
+ *
+ * How it works:
+ *  - DriverManager wraps each driver with Selenium's EventFiringDecorator
+ *    and this listener when 'trace.commands = true'
+ *  - Every command (WebDriver.get, WebElement.click, ...) is timed and counted:
+ *      per command type, per calling page-object method, per scenario
+ *  - Each command is also appended as one JSON line to 'trace.file'; the lines are
+ *    queued and written by ONE background thread, so parallel workers never wait on
+ *    each other (or on the disk) inside a traced command; when the writer falls more
+ *    than MAX_PENDING_LINES behind, new lines are dropped (and counted) instead of queued
+ *  - printSummary() prints the tables at suite end (called by TestRunner)
+ */
+public class CommandTracer implements WebDriverListener {
+
+    private static final Logger log = LogManager.getLogger(CommandTracer.class);
+
+    // Our own code that may call WebDriver; the first of these on the stack is "the caller"
+    private static final String[] CALLER_PACKAGES = {"pages.", "session.", "stepDefinitions.", "hooks."};
+
+    private static final ThreadLocal<String> currentScenario = ThreadLocal.withInitial(() -> "(no scenario)");
+    private static final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final Map<String, Stat> byCommand = new ConcurrentHashMap<>();
+    private static final Map<String, Stat> byCaller = new ConcurrentHashMap<>();
+    private static final Map<String, Stat> byScenario = new ConcurrentHashMap<>();
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    // Lines waiting for the writer thread; END tells it to finish
+    private static final int MAX_PENDING_LINES = 10_000;
+    private static final BlockingQueue<Map<String, Object>> pendingLines = new ArrayBlockingQueue<>(MAX_PENDING_LINES);
+    private static final Map<String, Object> END = new LinkedHashMap<>();
+    private static final LongAdder droppedLines = new LongAdder();
+    private static volatile Thread writerThread;
+
+    // Set by printSummary(); later commands (e.g. a late driver.quit()) are no longer written
+    private static volatile boolean closed;
+
+    private final File traceFile;
+
+    public CommandTracer(File traceFile) {
+        this.traceFile = traceFile;
+    }
+
+    /**
+     * Attributes the following commands on this thread to the given scenario.
+     */
+    public static void setScenario(String scenarioName) {
+        currentScenario.set(scenarioName);
+    }
+
+    public static void clearScenario() {
+        currentScenario.remove();
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, true);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, false);
+    }
+
+    private void finish(Method method, boolean success) {
+        Long start = startTimes.get().poll();
+        if (start == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        String caller = findCaller();
+        String scenario = currentScenario.get();
+
+        byCommand.computeIfAbsent(command, k -> new Stat()).record(elapsed);
+        byCaller.computeIfAbsent(caller, k -> new Stat()).record(elapsed);
+        byScenario.computeIfAbsent(scenario, k -> new Stat()).record(elapsed);
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("ts", System.currentTimeMillis());
+        line.put("thread", Thread.currentThread().getName());
+        line.put("scenario", scenario);
+        line.put("command", command);
+        line.put("caller", caller);
+        line.put("micros", elapsed / 1_000);
+        line.put("ok", success);
+        writeTrace(line);
+    }
+
+    private static String findCaller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> {
+                    for (String prefix : CALLER_PACKAGES) {
+                        if (frame.getClassName().startsWith(prefix)) return true;
+                    }
+                    return false;
+                })
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName())
+                .orElse("(framework)"));
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    private void writeTrace(Map<String, Object> line) {
+        if (closed) {
+            return;
+        }
+        if (writerThread == null) {
+            startWriter(traceFile);
+        }
+        if (!pendingLines.offer(line)) {
+            droppedLines.increment();
+        }
+    }
+
+    private static synchronized void startWriter(File traceFile) {
+        if (writerThread != null || closed) {
+            return;
+        }
+        writerThread = new Thread(() -> writeLines(traceFile), "command-trace-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Runs on the writer thread: serializes and writes queued lines until END.
+     */
+    private static void writeLines(File traceFile) {
+        File parent = traceFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) parent.mkdirs();
+        try (BufferedWriter traceWriter = Files.newBufferedWriter(traceFile.toPath(), StandardCharsets.UTF_8)) {
+            while (true) {
+                Map<String, Object> line = pendingLines.take();
+                if (line == END) {
+                    return;
+                }
+                traceWriter.write(mapper.writeValueAsString(line));
+                traceWriter.newLine();
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Could not write command trace: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * printSummary()
+     * ----------------
+     * Prints command counts and round-trip times, and waits until the
+     * queued trace lines are written and the trace file is closed.
+     * Commands after this call are still counted but no longer written.
+     */
+    public static void printSummary() {
+        Thread writer;
+        synchronized (CommandTracer.class) {
+            closed = true;
+            writer = writerThread;
+            writerThread = null;
+        }
+        if (writer != null) {
+            try {
+                // a full queue frees up as the writer drains it; a dead writer never takes END
+                if (writer.isAlive() && pendingLines.offer(END, 60, TimeUnit.SECONDS)) {
+                    writer.join(TimeUnit.SECONDS.toMillis(60));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (writer.isAlive()) {
+                log.warn("⚠️ Command trace was still being written after 60 s");
+            }
+        }
+        if (droppedLines.sum() > 0) {
+            log.warn("⚠️ {} command trace lines dropped (writer more than {} lines behind)",
+                    droppedLines.sum(), MAX_PENDING_LINES);
+        }
+        if (byCommand.isEmpty()) {
+            return;
+        }
+
+        printTable("🛰️ WebDriver commands by type", byCommand);
+        printTable("🛰️ WebDriver commands by caller", byCaller);
+        printTable("🛰️ WebDriver commands by scenario", byScenario);
+    }
+
+    private static void printTable(String title, Map<String, Stat> stats) {
+        log.info("{} (count | total ms | p50 | p90 | max ms | name)", title);
+        stats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Stat> e) -> e.getValue().totalNanos.sum()).reversed())
+                .forEach(e -> {
+                    Stat stat = e.getValue();
+                    log.printf(Level.INFO, "   %6d | %9.1f | %7.1f | %7.1f | %7.1f | %s",
+                            stat.count.sum(),
+                            stat.totalNanos.sum() / 1_000_000.0,
+                            stat.histogram.percentileMillis(0.50),
+                            stat.histogram.percentileMillis(0.90),
+                            stat.histogram.getMaxMillis(),
+                            e.getKey());
+                });
+    }
+
+    private static final class Stat {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            histogram.record(nanos);
+        }
+    }
+}
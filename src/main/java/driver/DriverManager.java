@@ -1,7 +1,10 @@
 package driver;
 
+import base.PageReadiness;
 import config.ConfigReader;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -9,8 +12,14 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import utils.LogContext;
 
+import java.io.File;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * DriverManager
@@ -24,36 +33,64 @@ import java.time.Duration;
  * Why it exists:
  * Instead of writing driver setup code everywhere,
  * we write it once here and reuse it everywhere else.
+ *
+ * Thread safety:
+ * Each thread gets its own browser session (ThreadLocal), so scenarios
+ * running in parallel never share or close each other's driver.
  */
 public class DriverManager {
 
-    // 'driver' represents your current browser session
-    private static WebDriver driver;
+    private static final Logger log = LogManager.getLogger(DriverManager.class);
+
+    // 'driver' represents the browser session of the current thread
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
 
     /**
      * getDriver()
      * --------------
-     * Returns the current WebDriver instance.
+     * Returns the WebDriver instance of the current thread.
      * If there isn’t one yet, it creates one using setupDriver().
      */
     public static WebDriver getDriver() {
-        if (driver == null) {
+        if (driver.get() == null) {
             setupDriver();
         }
-        return driver;
+        return driver.get();
     }
 
     /**
      * setupDriver()
      * ----------------
+     * Binds a browser session to the current thread.
+     * When 'pool.enabled' is true the session is borrowed from DriverPool
+     * (already launched and reset), otherwise a new browser is launched.
+     * The session id is added to the thread's log context (LogContext).
+     */
+    private static void setupDriver() {
+        if (isPoolEnabled()) {
+            driver.set(DriverPool.borrow());
+        } else {
+            driver.set(createDriver());
+        }
+        LogContext.bindSession(driver.get());
+    }
+
+    /**
+     * createDriver()
+     * ----------------
      * This method:
      *  - Reads browser name and headless option from config.properties
-     *  - Uses WebDriverManager to set up the browser driver automatically
-     *  - Creates the WebDriver object
+     *  - Uses DriverResolver to find the browser driver (cached, once per JVM)
+     *  - Creates the WebDriver object with the 'page.load.strategy' (normal / eager / none)
+     *  - Installs the PageReadiness tracker (Chrome/Edge) when 'page.ready.enabled' is true
+     *  - Installs NetworkFilter (Chrome/Edge) when 'network.filter.enabled' is true
+     *  - Wraps it with FlightRecorder ('flight.recorder.enabled') and CommandTracer ('trace.commands')
      *  - Sets browser window size and timeouts
      *  - Opens the base URL
+     *
+     * Used directly for one-off sessions and by DriverPool to fill the pool.
      */
-    private static void setupDriver() {
+    static WebDriver createDriver() {
 
         // Read values from config.properties
         String browser = ConfigReader.getProperty("browser");
@@ -61,13 +98,16 @@ public class DriverManager {
         int implicitWait = ConfigReader.getIntProperty("implicit.wait");
         int pageLoadTimeout = ConfigReader.getIntProperty("page.load.timeout");
         String baseUrl = ConfigReader.getProperty("base.url");
+        PageLoadStrategy pageLoadStrategy = PageReadiness.strategy();
+
+        log.info("Starting browser: {} [{}]", browser, Thread.currentThread().getName());
 
-        System.out.println("Starting browser: " + browser);
+        WebDriver webDriver;
 
         switch (browser.toLowerCase()) {
 
             case "chrome" -> {
-                WebDriverManager.chromedriver().setup();
+                DriverResolver.resolve("chrome");
                 ChromeOptions chromeOptions = new ChromeOptions();
 
                 // New way to set headless in Selenium 4+
@@ -75,11 +115,15 @@ public class DriverManager {
                     chromeOptions.addArguments("--headless=new");
                 }
 
-                driver = new ChromeDriver(chromeOptions);
+                chromeOptions.setPageLoadStrategy(pageLoadStrategy);
+                if (FlightRecorder.isEnabled()) {
+                    chromeOptions.setCapability(ChromeOptions.LOGGING_PREFS, FlightRecorder.consoleLogging());
+                }
+                webDriver = new ChromeDriver(chromeOptions);
             }
 
             case "firefox" -> {
-                WebDriverManager.firefoxdriver().setup();
+                DriverResolver.resolve("firefox");
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
 
                 // Updated headless setting
@@ -87,11 +131,12 @@ public class DriverManager {
                     firefoxOptions.addArguments("--headless");
                 }
 
-                driver = new FirefoxDriver(firefoxOptions);
+                firefoxOptions.setPageLoadStrategy(pageLoadStrategy);
+                webDriver = new FirefoxDriver(firefoxOptions);
             }
 
             case "edge" -> {
-                WebDriverManager.edgedriver().setup();
+                DriverResolver.resolve("edge");
                 EdgeOptions edgeOptions = new EdgeOptions();
 
                 // Edge also uses addArguments for headless
@@ -99,23 +144,54 @@ public class DriverManager {
                     edgeOptions.addArguments("--headless=new");
                 }
 
-                driver = new EdgeDriver(edgeOptions);
+                edgeOptions.setPageLoadStrategy(pageLoadStrategy);
+                if (FlightRecorder.isEnabled()) {
+                    edgeOptions.setCapability(EdgeOptions.LOGGING_PREFS, FlightRecorder.consoleLogging());
+                }
+                webDriver = new EdgeDriver(edgeOptions);
             }
 
             default -> throw new RuntimeException("Unsupported browser in config.properties: " + browser);
         }
 
-        // Make browser full screen
-        driver.manage().window().maximize();
+        // Tracks XHR/fetch in every page so readiness can be detected (needs the undecorated driver)
+        PageReadiness.install(webDriver);
+
+        // Optionally block images/fonts/trackers (needs the undecorated Chrome/Edge driver)
+        NetworkFilter.attachIfEnabled(webDriver);
 
-        // Setup timeouts for waiting
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadTimeout));
+        // Optionally keep the last commands for failure diagnosis (FlightRecorder)
+        // and count and time every WebDriver command (CommandTracer)
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (FlightRecorder.isEnabled()) {
+            listeners.add(FlightRecorder.attach(webDriver));
+        }
+        if (ConfigReader.getBooleanProperty("trace.commands")) {
+            listeners.add(new CommandTracer(new File(ConfigReader.getProperty("trace.file"))));
+        }
+        if (!listeners.isEmpty()) {
+            webDriver = new EventFiringDecorator<WebDriver>(listeners.toArray(new WebDriverListener[0])).decorate(webDriver);
+        }
 
-        // Open the application URL
-        driver.get(baseUrl);
+        try {
+            // Make browser full screen
+            webDriver.manage().window().maximize();
+
+            // Setup timeouts for waiting
+            webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
+            webDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadTimeout));
+
+            // Open the application URL
+            webDriver.get(baseUrl);
+            PageReadiness.await(webDriver);
+        } catch (RuntimeException e) {
+            // Don't leave a half-configured browser running
+            webDriver.quit();
+            throw e;
+        }
 
-        System.out.println("Browser launched successfully → " + baseUrl);
+        log.info("Browser launched successfully → {}", baseUrl);
+        return webDriver;
     }
 
     /**
@@ -124,8 +200,8 @@ public class DriverManager {
      * Closes the browser tab (not entire session).
      */
     public static void closeDriver() {
-        if (driver != null) {
-            driver.close();
+        if (driver.get() != null) {
+            driver.get().close();
         }
     }
 
@@ -133,13 +209,30 @@ public class DriverManager {
      * quitDriver()
      * ----------------
      * Completely shuts down browser and ends the session.
-     * Sets driver = null for next test run.
+     * Removes the thread's driver so the next test run gets a fresh one.
+     * With the pool enabled, the session is reset and returned to DriverPool instead.
      */
     public static void quitDriver() {
-        if (driver != null) {
-            driver.quit();
-            driver = null;
-            System.out.println("Browser session closed successfully.");
+        WebDriver webDriver = driver.get();
+        if (webDriver != null) {
+            try {
+                if (isPoolEnabled()) {
+                    DriverPool.release(webDriver);
+                } else {
+                    webDriver.quit();
+                    log.info("Browser session closed successfully.");
+                }
+            } finally {
+                driver.remove();
+                LogContext.clearSession();
+            }
         }
     }
+
+    /**
+     * Returns true when browser sessions should be reused through DriverPool.
+     */
+    static boolean isPoolEnabled() {
+        return ConfigReader.getBooleanProperty("pool.enabled");
+    }
 }
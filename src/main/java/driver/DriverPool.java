@@ -0,0 +1,218 @@
+package driver;
+
+import base.PageReadiness;
+import config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DriverPool
+ * ----------------
+ * Purpose:
+ * Keeps a bounded set of already-launched browsers that scenarios borrow and return,
+ * so we don't pay browser start-up, maximize and the first page load on every scenario.
+ *
+ * How it works:
+ *  - borrow()  → takes an idle browser (hit) or launches a new one (miss)
+ *  - release() → resets the browser (tabs, storage, cookies, base URL) and puts it back
+ *  - A browser is evicted (quit) after 'pool.max.uses' scenarios, or when it
+ *    crashed / could not be reset
+ *  - shutdown() quits everything and prints hit/miss/reset metrics
+ *
+ * Settings (config.properties):
+ *  pool.enabled, pool.size, pool.max.uses
+ *
+ * DriverManager is the only caller; tests keep using DriverManager.getDriver()/quitDriver().
+ */
+public class DriverPool {
+
+    private static final Logger log = LogManager.getLogger(DriverPool.class);
+
+    // Idle browsers ready to be borrowed
+    private static final BlockingQueue<WebDriver> idle = new LinkedBlockingQueue<>();
+
+    // How many scenarios each live browser has served
+    private static final Map<WebDriver, AtomicInteger> uses = new ConcurrentHashMap<>();
+
+    // Metrics
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+    private static final AtomicLong resets = new AtomicLong();
+    private static final AtomicLong resetNanos = new AtomicLong();
+
+    private DriverPool() {
+    }
+
+    /**
+     * warmUp()
+     * ----------------
+     * Launches browsers up front (in parallel) until the pool holds 'pool.size' idle sessions.
+     * Call once before the suite starts.
+     */
+    public static void warmUp() {
+        int missing = poolSize() - idle.size();
+        if (missing <= 0) {
+            return;
+        }
+
+        log.info("🔥 Pre-launching {} browser(s) for the pool...", missing);
+        List<CompletableFuture<WebDriver>> launches = new ArrayList<>();
+        for (int i = 0; i < missing; i++) {
+            launches.add(CompletableFuture.supplyAsync(DriverManager::createDriver));
+        }
+
+        for (CompletableFuture<WebDriver> launch : launches) {
+            try {
+                WebDriver webDriver = launch.join();
+                uses.put(webDriver, new AtomicInteger());
+                idle.offer(webDriver);
+            } catch (RuntimeException e) {
+                // A failed warm-up launch only means a later miss
+                log.warn("⚠️ Could not pre-launch browser: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * borrow()
+     * ----------------
+     * Returns an idle, healthy browser if one exists, otherwise launches a new one.
+     */
+    static WebDriver borrow() {
+        WebDriver webDriver;
+        while ((webDriver = idle.poll()) != null) {
+            if (isAlive(webDriver)) {
+                hits.incrementAndGet();
+                return webDriver;
+            }
+            evict(webDriver, "crashed while idle");
+        }
+
+        misses.incrementAndGet();
+        webDriver = DriverManager.createDriver();
+        uses.put(webDriver, new AtomicInteger());
+        return webDriver;
+    }
+
+    /**
+     * release()
+     * ----------------
+     * Gives a browser back after a scenario.
+     * It is reset and returned to the pool, or quit when it is worn out,
+     * broken, or the pool is already full.
+     */
+    static void release(WebDriver webDriver) {
+        AtomicInteger count = uses.computeIfAbsent(webDriver, d -> new AtomicInteger());
+        if (count.incrementAndGet() >= ConfigReader.getIntProperty("pool.max.uses")) {
+            evict(webDriver, "reached max uses");
+            return;
+        }
+
+        if (!reset(webDriver)) {
+            evict(webDriver, "reset failed");
+            return;
+        }
+
+        if (idle.size() >= poolSize() || !idle.offer(webDriver)) {
+            evict(webDriver, "pool full");
+        }
+    }
+
+    /**
+     * shutdown()
+     * ----------------
+     * Quits every idle browser and prints pool metrics. Call once at suite end.
+     */
+    public static void shutdown() {
+        WebDriver webDriver;
+        while ((webDriver = idle.poll()) != null) {
+            quitQuietly(webDriver);
+        }
+        printMetrics();
+    }
+
+    /**
+     * Brings a used browser back to a clean state without restarting it:
+     *  - closes extra tabs/windows
+     *  - clears local/session storage and cookies
+     *  - navigates back to the base URL
+     */
+    private static boolean reset(WebDriver webDriver) {
+        long start = System.nanoTime();
+        try {
+            List<String> handles = new ArrayList<>(webDriver.getWindowHandles());
+            if (handles.isEmpty()) {
+                return false;
+            }
+            for (String handle : handles.subList(1, handles.size())) {
+                webDriver.switchTo().window(handle).close();
+            }
+            webDriver.switchTo().window(handles.get(0));
+
+            ((JavascriptExecutor) webDriver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            webDriver.manage().deleteAllCookies();
+            webDriver.get(ConfigReader.getProperty("base.url"));
+            PageReadiness.await(webDriver);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Browser reset failed: {}", e.getMessage());
+            return false;
+        } finally {
+            resets.incrementAndGet();
+            resetNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * A cheap round-trip that fails if the browser or driver process died.
+     */
+    private static boolean isAlive(WebDriver webDriver) {
+        try {
+            webDriver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void evict(WebDriver webDriver, String reason) {
+        evictions.incrementAndGet();
+        log.info("♻️ Evicting pooled browser ({})", reason);
+        quitQuietly(webDriver);
+    }
+
+    private static void quitQuietly(WebDriver webDriver) {
+        uses.remove(webDriver);
+        try {
+            webDriver.quit();
+        } catch (RuntimeException e) {
+            // Browser is already gone; nothing else to clean up
+        }
+    }
+
+    private static int poolSize() {
+        return Math.max(1, ConfigReader.getIntProperty("pool.size"));
+    }
+
+    private static void printMetrics() {
+        long resetCount = resets.get();
+        long avgResetMs = resetCount == 0 ? 0 : resetNanos.get() / resetCount / 1_000_000;
+
+        log.info("🏊 Driver pool → hits: {}, misses: {}, evictions: {}, resets: {}, avg reset: {} ms",
+                hits.get(), misses.get(), evictions.get(), resetCount, avgResetMs);
+    }
+}
@@ -0,0 +1,201 @@
+package driver;
+
+import config.ConfigReader;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DriverResolver
+ * ----------------
+ * Purpose:
+ * Finds the driver binary (chromedriver, geckodriver, msedgedriver) for a browser
+ * ONCE per JVM, instead of calling WebDriverManager.setup() on every launch.
+ *
+ * How it works:
+ *  1. Already resolved in this JVM → nothing to do
+ *  2. 'driver.offline = true'       → use the binary from the local 'driver.dir' folder (no network)
+ *  3. Found in the on-disk cache     → reuse the cached binary path
+ *  4. Otherwise                      → ask WebDriverManager once and save the result to the cache
+ *
+ * The on-disk cache is keyed by browser + installed browser version (a fingerprint of
+ * the browser binary), so a browser upgrade automatically triggers a fresh lookup.
+ *
+ * Settings (config.properties):
+ *  driver.offline, driver.dir, driver.cache.file
+ */
+public class DriverResolver {
+
+    private static final Logger log = LogManager.getLogger(DriverResolver.class);
+
+    // browser name → resolved driver path for this JVM
+    private static final Map<String, String> resolved = new ConcurrentHashMap<>();
+
+    private DriverResolver() {
+    }
+
+    /**
+     * resolve()
+     * ----------------
+     * Makes sure the driver for the given browser is known to Selenium
+     * (through the matching 'webdriver.*.driver' system property).
+     */
+    public static void resolve(String browser) {
+        resolved.computeIfAbsent(browser.toLowerCase(), DriverResolver::resolveOnce);
+    }
+
+    private static String resolveOnce(String browser) {
+        long start = System.nanoTime();
+        String source;
+        String driverPath;
+
+        if (ConfigReader.getBooleanProperty("driver.offline")) {
+            driverPath = findLocalDriver(browser);
+            source = "offline dir";
+        } else {
+            WebDriverManager wdm = webDriverManagerFor(browser);
+            String cacheKey = browser + "." + browserVersionKey(wdm);
+            driverPath = readCache(cacheKey);
+
+            if (driverPath != null) {
+                source = "disk cache";
+            } else {
+                wdm.setup();
+                driverPath = wdm.getDownloadedDriverPath();
+                writeCache(cacheKey, driverPath);
+                source = "WebDriverManager (" + wdm.getDownloadedDriverVersion() + ")";
+            }
+        }
+
+        if (driverPath != null) {
+            System.setProperty(driverProperty(browser), driverPath);
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("🔧 Resolved {} driver from {} in {} ms → {}",
+                browser, source, elapsedMs, driverPath);
+        return driverPath;
+    }
+
+    /**
+     * Looks up the driver binary in 'driver.dir' (used on air-gapped machines).
+     */
+    private static String findLocalDriver(String browser) {
+        String dir = ConfigReader.getProperty("driver.dir");
+        if (dir == null || dir.isBlank()) {
+            throw new RuntimeException("driver.offline is true but driver.dir is not set in config.properties");
+        }
+
+        String binary = driverBinaryName(browser);
+        for (String name : new String[]{binary, binary + ".exe"}) {
+            File candidate = new File(dir, name);
+            if (candidate.isFile()) {
+                return candidate.getAbsolutePath();
+            }
+        }
+        throw new RuntimeException("No " + binary + " found in driver.dir: " + dir);
+    }
+
+    /**
+     * A cheap version key for the installed browser: its binary's size and modification time.
+     * Detecting the real version would spawn the browser, which is what we are trying to avoid.
+     */
+    private static String browserVersionKey(WebDriverManager wdm) {
+        Optional<Path> browserPath = wdm.getBrowserPath();
+        if (browserPath.isEmpty()) {
+            return "unknown";
+        }
+        File binary = browserPath.get().toFile();
+        return binary.length() + "-" + binary.lastModified();
+    }
+
+    private static synchronized String readCache(String key) {
+        Properties cache = loadCache();
+        String driverPath = cache.getProperty(key);
+
+        // Ignore entries whose binary was deleted (e.g. cleaned ~/.cache)
+        if (driverPath != null && !new File(driverPath).isFile()) {
+            return null;
+        }
+        return driverPath;
+    }
+
+    private static synchronized void writeCache(String key, String driverPath) {
+        if (driverPath == null) {
+            return;
+        }
+        Properties cache = loadCache();
+        cache.setProperty(key, driverPath);
+
+        Path cacheFile = cacheFile();
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            try (OutputStream out = Files.newOutputStream(cacheFile)) {
+                cache.store(out, "Resolved WebDriver binaries (browser.versionKey = driver path)");
+            }
+        } catch (IOException e) {
+            // The cache is only an optimisation; the run continues without it
+            log.warn("⚠️ Could not write driver cache: {}", e.getMessage());
+        }
+    }
+
+    private static Properties loadCache() {
+        Properties cache = new Properties();
+        Path cacheFile = cacheFile();
+        if (Files.isRegularFile(cacheFile)) {
+            try (InputStream in = Files.newInputStream(cacheFile)) {
+                cache.load(in);
+            } catch (IOException e) {
+                log.warn("⚠️ Could not read driver cache: {}", e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    private static Path cacheFile() {
+        String configured = ConfigReader.getProperty("driver.cache.file");
+        if (configured == null || configured.isBlank()) {
+            return Paths.get(System.getProperty("user.home"), ".cache", "orangehrm-framework", "driver-cache.properties");
+        }
+        return Paths.get(configured);
+    }
+
+    private static WebDriverManager webDriverManagerFor(String browser) {
+        return switch (browser) {
+            case "chrome" -> WebDriverManager.chromedriver();
+            case "firefox" -> WebDriverManager.firefoxdriver();
+            case "edge" -> WebDriverManager.edgedriver();
+            default -> throw new RuntimeException("Unsupported browser in config.properties: " + browser);
+        };
+    }
+
+    private static String driverBinaryName(String browser) {
+        return switch (browser) {
+            case "chrome" -> "chromedriver";
+            case "firefox" -> "geckodriver";
+            case "edge" -> "msedgedriver";
+            default -> throw new RuntimeException("Unsupported browser in config.properties: " + browser);
+        };
+    }
+
+    private static String driverProperty(String browser) {
+        return switch (browser) {
+            case "chrome" -> "webdriver.chrome.driver";
+            case "firefox" -> "webdriver.gecko.driver";
+            case "edge" -> "webdriver.edge.driver";
+            default -> throw new RuntimeException("Unsupported browser in config.properties: " + browser);
+        };
+    }
+}
@@ -0,0 +1,308 @@
+package driver;
+
+import config.ConfigReader;
+import execution.Shard;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * FlightRecorder
+ * ----------------
+ * Purpose:
+ * Tells what happened right before a scenario failed, without rerunning it.
+ *
+ * How it works:
+ *  - Every browser keeps its last 'flight.recorder.commands' WebDriver commands
+ *    (time, duration, locator/URL, error) in a small ring buffer; DriverManager adds
+ *    this listener when 'flight.recorder.enabled' is true
+ *  - Recording only stores references to what is already there (method, locator, URL);
+ *    the text is built when a failure is written, so passing scenarios pay almost nothing
+ *  - On failure ONLY (Hooks.tearDown), capture() reads the DOM, the browser console
+ *    (Chrome/Edge) and a network summary (Resource Timing + PageReadiness tracker) and zips
+ *    them with the commands into one file in 'flight.recorder.dir'
+ *
+ * Typed text (sendKeys) is never recorded, only its length.
+ */
+public class FlightRecorder implements WebDriverListener {
+
+    private static final Logger log = LogManager.getLogger(FlightRecorder.class);
+
+    // Network summary from the browser's Resource Timing entries (+ pending XHR/fetch from PageReadiness)
+    private static final String NETWORK_SUMMARY =
+            "var max = arguments[0];"
+                    + " var nav = performance.getEntriesByType('navigation')[0];"
+                    + " var res = performance.getEntriesByType('resource');"
+                    + " var bytes = 0, byType = {}, failed = [];"
+                    + " res.forEach(function (r) {"
+                    + "   bytes += r.transferSize || 0;"
+                    + "   byType[r.initiatorType] = (byType[r.initiatorType] || 0) + 1;"
+                    + "   if (r.responseStatus >= 400) { failed.push({url: r.name, status: r.responseStatus}); }"
+                    + " });"
+                    + " var slowest = res.slice().sort(function (a, b) { return b.duration - a.duration; })"
+                    + "   .slice(0, max).map(function (r) {"
+                    + "     return {url: r.name, type: r.initiatorType, ms: Math.round(r.duration),"
+                    + "             bytes: r.transferSize, status: r.responseStatus};"
+                    + "   });"
+                    + " return JSON.stringify({"
+                    + "   url: location.href,"
+                    + "   pendingRequests: window.__qaNet ? window.__qaNet.pending : null,"
+                    + "   navigation: nav ? {type: nav.type, status: nav.responseStatus, ms: Math.round(nav.duration),"
+                    + "     domContentLoadedMs: Math.round(nav.domContentLoadedEventEnd), loadMs: Math.round(nav.loadEventEnd)} : null,"
+                    + "   resources: res.length, transferBytes: bytes, byType: byType,"
+                    + "   failed: failed.slice(0, max), slowest: slowest"
+                    + " }, null, 2);";
+
+    private static final int SLOWEST_RESOURCES = 15;
+
+    // undecorated driver → its recorder (weak: a quit browser is forgotten)
+    private static final Map<WebDriver, FlightRecorder> recorders = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // The ring buffer: slot = count % size, oldest entries are overwritten
+    private final long[] startMillis;
+    private final long[] micros;
+    private final Method[] methods;
+    private final Object[] details;
+    private final String[] errors;
+    private long count;
+
+    // Start times of the commands in progress (a decorated call can run others inside it)
+    private final long[] running = new long[16];
+    private int depth;
+
+    private FlightRecorder(int size) {
+        startMillis = new long[size];
+        micros = new long[size];
+        methods = new Method[size];
+        details = new Object[size];
+        errors = new String[size];
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBooleanProperty("flight.recorder.enabled");
+    }
+
+    /**
+     * Creates the recorder for a new, still undecorated driver.
+     * Pass the returned listener to the EventFiringDecorator of that driver.
+     */
+    public static FlightRecorder attach(WebDriver undecorated) {
+        FlightRecorder recorder = new FlightRecorder(Math.max(1, ConfigReader.getIntProperty("flight.recorder.commands")));
+        recorders.put(undecorated, recorder);
+        return recorder;
+    }
+
+    /**
+     * Console log settings for Chrome/Edge options, so capture() can read the browser console.
+     */
+    public static LoggingPreferences consoleLogging() {
+        LoggingPreferences preferences = new LoggingPreferences();
+        preferences.enable(LogType.BROWSER, Level.ALL);
+        return preferences;
+    }
+
+    /**
+     * Forgets the recorded commands and the browser console (a pooled browser starting a new
+     * scenario), so a failure's record only shows what happened in that scenario.
+     */
+    public static void clear(WebDriver driver) {
+        FlightRecorder recorder = of(driver);
+        if (recorder != null) {
+            // Reading the console log empties the browser's buffer; done first, so this call
+            // doesn't stay in the command buffer either
+            try {
+                driver.manage().logs().get(LogType.BROWSER);
+            } catch (RuntimeException e) {
+                // e.g. Firefox has no console log to read
+            }
+            synchronized (recorder) {
+                recorder.count = 0;
+                Arrays.fill(recorder.details, null);
+            }
+        }
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        synchronized (this) {
+            if (depth < running.length) {
+                running[depth] = System.nanoTime();
+            }
+            depth++;
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method, args, null);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        String message = String.valueOf(cause.getMessage()).lines().findFirst().orElse("");
+        record(method, args, cause.getClass().getSimpleName() + ": " + message);
+    }
+
+    private synchronized void record(Method method, Object[] args, String error) {
+        if (depth == 0) {
+            return;
+        }
+        depth--;
+        long elapsed = depth < running.length ? System.nanoTime() - running[depth] : 0;
+
+        int slot = (int) (count++ % methods.length);
+        startMillis[slot] = System.currentTimeMillis() - elapsed / 1_000_000;
+        micros[slot] = elapsed / 1_000;
+        methods[slot] = method;
+        details[slot] = detailOf(args);
+        errors[slot] = error;
+    }
+
+    // Keeps a reference only (no text built here); never keeps typed text or elements
+    private static Object detailOf(Object[] args) {
+        if (args == null || args.length == 0) {
+            return null;
+        }
+        Object first = args[0];
+        if (first instanceof By || first instanceof String) {
+            return first;
+        }
+        if (first instanceof CharSequence[] keys) {
+            int length = 0;
+            for (CharSequence key : keys) {
+                length += key == null ? 0 : key.length();
+            }
+            return length;
+        }
+        return null;
+    }
+
+    /**
+     * The recorded commands, oldest first, one per line.
+     */
+    synchronized String commandsText() {
+        StringBuilder text = new StringBuilder();
+        SimpleDateFormat time = new SimpleDateFormat("HH:mm:ss.SSS");
+        long first = Math.max(0, count - methods.length);
+        if (first > 0) {
+            text.append("(").append(first).append(" earlier commands not kept)\n");
+        }
+        for (long i = first; i < count; i++) {
+            int slot = (int) (i % methods.length);
+            Object detail = details[slot];
+            text.append(time.format(new Date(startMillis[slot])))
+                    .append(String.format(" %9.1f ms ", micros[slot] / 1000.0))
+                    .append(errors[slot] == null ? "OK    " : "ERROR ")
+                    .append(methods[slot].getDeclaringClass().getSimpleName()).append('.').append(methods[slot].getName());
+            if (detail instanceof Integer length) {
+                text.append("  (").append(length).append(" chars typed)");
+            } else if (detail != null) {
+                String shown = detail.toString().replaceAll("\\s+", " ");
+                text.append("  ").append(shown.length() > 200 ? shown.substring(0, 200) + "…" : shown);
+            }
+            if (errors[slot] != null) {
+                text.append("\n").append(" ".repeat(31)).append(errors[slot]);
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * capture()
+     * ------------
+     * Writes the flight record of a failed scenario: recorded commands, DOM, browser console
+     * and network summary in one zip file. Each part is best effort; never throws.
+     *
+     * @return the zip file, or null when the recorder is off or nothing could be written
+     */
+    public static File capture(WebDriver driver, String baseName) {
+        if (!isEnabled() || driver == null) {
+            return null;
+        }
+        // Taken first: reading the browser below adds its own commands to the buffer
+        FlightRecorder recorder = of(driver);
+        String commands = recorder != null ? recorder.commandsText() : "(no commands recorded for this browser)\n";
+
+        File dir = Shard.current().resolve(new File(ConfigReader.getProperty("flight.recorder.dir")));
+        File zip = new File(dir, baseName + ".zip");
+        dir.mkdirs();
+
+        try (OutputStream out = Files.newOutputStream(zip.toPath());
+             ZipOutputStream entries = new ZipOutputStream(out)) {
+            entries.setLevel(9);
+            write(entries, "commands.txt", commands);
+            write(entries, "page.txt", part("page", () -> "URL:   " + driver.getCurrentUrl()
+                    + "\nTitle: " + driver.getTitle() + "\n"));
+            write(entries, "dom.html", part("DOM", driver::getPageSource));
+            write(entries, "console.log", part("console", () -> consoleText(driver)));
+            write(entries, "network.json", part("network", () -> (String) ((JavascriptExecutor) driver)
+                    .executeScript(NETWORK_SUMMARY, SLOWEST_RESOURCES)));
+        } catch (IOException e) {
+            log.warn("⚠️ Could not write flight record {}: {}", zip, e.getMessage());
+            return null;
+        }
+        log.info("🛩️ Flight record saved → {}", zip.getAbsolutePath());
+        return zip;
+    }
+
+    private static String consoleText(WebDriver driver) {
+        StringBuilder text = new StringBuilder();
+        SimpleDateFormat time = new SimpleDateFormat("HH:mm:ss.SSS");
+        for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+            text.append(time.format(new Date(entry.getTimestamp()))).append(' ')
+                    .append(entry.getLevel()).append(' ').append(entry.getMessage()).append('\n');
+        }
+        return text.length() == 0 ? "(console is empty)\n" : text.toString();
+    }
+
+    // One part of the record; a browser that can't give it (e.g. Firefox console) gets a note instead
+    private static String part(String name, Supplier<String> reader) {
+        try {
+            String value = reader.get();
+            return value == null ? "" : value;
+        } catch (RuntimeException e) {
+            return "(" + name + " not available: " + String.valueOf(e.getMessage()).lines().findFirst().orElse("") + ")\n";
+        }
+    }
+
+    private static void write(ZipOutputStream entries, String name, String content) throws IOException {
+        entries.putNextEntry(new ZipEntry(name));
+        entries.write(content.getBytes(StandardCharsets.UTF_8));
+        entries.closeEntry();
+    }
+
+    private static FlightRecorder of(WebDriver driver) {
+        WebDriver raw = driver;
+        while (raw instanceof WrapsDriver wrapper) {
+            raw = wrapper.getWrappedDriver();
+        }
+        return recorders.get(raw);
+    }
+}
@@ -0,0 +1,165 @@
+package driver;
+
+import config.ConfigReader;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * NetworkFilter
+ * ---------------
+ * Purpose:
+ * Stops Chrome/Edge from downloading things the tests never look at (images, fonts,
+ * analytics scripts...), so pages load faster and with less variation.
+ *
+ * How it works (Chrome DevTools "Fetch" domain, through Selenium's DevTools):
+ *  - Requests matching 'network.filter.url.patterns' (wildcards, e.g. *.woff2*) or
+ *    'network.filter.resource.types' (Image, Font, Media, Script...) are paused by the browser
+ *  - We answer "failed: blocked by client" right away, so nothing is downloaded, not even once
+ *
+ * Bytes saved are not known: a blocked request never tells its size, and asking the server
+ * would put a request back on the page's critical path.
+ *
+ * Blocked requests per page are printed at suite end by TestRunner.
+ * Uses plain CDP commands (no version-specific classes), so it keeps working when Chrome updates.
+ */
+public class NetworkFilter {
+
+    private static final Logger log = LogManager.getLogger(NetworkFilter.class);
+
+    // page path → blocked requests
+    private static final Map<String, Stat> stats = new ConcurrentHashMap<>();
+
+    private final DevTools devTools;
+    private volatile String currentPage = "(before first page)";
+
+    private NetworkFilter(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /**
+     * Installs the filter on a new Chrome/Edge session when 'network.filter.enabled' is true.
+     * Must be called on the undecorated driver, before the first page is opened.
+     */
+    static void attachIfEnabled(WebDriver webDriver) {
+        if (!ConfigReader.getBooleanProperty("network.filter.enabled")) {
+            return;
+        }
+        List<Map<String, Object>> patterns = patterns();
+        if (patterns.isEmpty()) {
+            return;
+        }
+        Optional<DevTools> devTools = webDriver instanceof HasDevTools hasDevTools
+                ? hasDevTools.maybeGetDevTools()
+                : Optional.empty();
+        if (devTools.isEmpty()) {
+            log.warn("⚠️ network.filter needs Chrome or Edge with DevTools support → not filtering");
+            return;
+        }
+
+        try {
+            new NetworkFilter(devTools.get()).install(patterns);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Could not install network filter: {}", e.getMessage());
+        }
+    }
+
+    private void install(List<Map<String, Object>> patterns) {
+        devTools.createSessionIfThereIsNotOne();
+        devTools.addListener(new Event<Map<String, Object>>("Page.frameNavigated", input -> input.read(Json.MAP_TYPE)),
+                this::onFrameNavigated);
+        devTools.addListener(new Event<Map<String, Object>>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE)),
+                this::onRequestPaused);
+        send("Page.enable", Map.of());
+        send("Fetch.enable", Map.of("patterns", patterns));
+    }
+
+    /**
+     * Remembers which page the following requests belong to (main frame only).
+     */
+    @SuppressWarnings("unchecked")
+    private void onFrameNavigated(Map<String, Object> params) {
+        Map<String, Object> frame = (Map<String, Object>) params.get("frame");
+        if (frame != null && frame.get("parentId") == null) {
+            currentPage = pageOf(String.valueOf(frame.get("url")));
+        }
+    }
+
+    private void onRequestPaused(Map<String, Object> params) {
+        try {
+            stats.computeIfAbsent(currentPage, page -> new Stat()).blocked.increment();
+            send("Fetch.failRequest", Map.of("requestId", String.valueOf(params.get("requestId")), "errorReason", "BlockedByClient"));
+        } catch (RuntimeException e) {
+            // e.g. the page navigated away and the request is gone
+        }
+    }
+
+    private void send(String method, Map<String, Object> params) {
+        devTools.send(new Command<Void>(method, params));
+    }
+
+    /**
+     * Fetch.enable patterns: one per URL pattern, one per resource type.
+     */
+    private static List<Map<String, Object>> patterns() {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String url : split(ConfigReader.getProperty("network.filter.url.patterns"))) {
+            patterns.add(Map.of("urlPattern", url, "requestStage", "Request"));
+        }
+        for (String type : split(ConfigReader.getProperty("network.filter.resource.types"))) {
+            patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", "Request"));
+        }
+        return patterns;
+    }
+
+    private static List<String> split(String value) {
+        List<String> parts = new ArrayList<>();
+        if (value != null) {
+            for (String part : value.split(",")) {
+                if (!part.isBlank()) parts.add(part.trim());
+            }
+        }
+        return parts;
+    }
+
+    private static String pageOf(String url) {
+        try {
+            String path = URI.create(url).getPath();
+            return path == null || path.isEmpty() ? url : path;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    /**
+     * Prints blocked requests per page, most blocked first.
+     */
+    public static void printStats() {
+        if (stats.isEmpty()) {
+            return;
+        }
+        log.info("🚫 Network filter (blocked requests | page)");
+        stats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Stat> e) -> e.getValue().blocked.sum()).reversed())
+                .forEach(e -> log.printf(Level.INFO, "   %6d | %s", e.getValue().blocked.sum(), e.getKey()));
+    }
+
+    private static final class Stat {
+        private final LongAdder blocked = new LongAdder();
+    }
+}
@@ -0,0 +1,142 @@
+package execution;
+
+import config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * RerunManifest
+ * ---------------
+ * Purpose:
+ * Remembers which scenarios failed, so the next run can execute ONLY those.
+ *
+ * - After every run the failed scenarios are written to 'rerun.file'
+ *   (one "feature uri:line" per line, same key as ScenarioHistory)
+ * - With 'rerun.mode = failed' (e.g. mvn test -Drerun.mode=failed) TestRunner
+ *   keeps only the scenarios listed there; passing ones drop out of the file again
+ *
+ * Shards write to their own folder (test-output/shard-<n>/...). A rerun always reads the
+ * manifests of ALL shards; TestRunner splits the suite first and then keeps the failed
+ * scenarios of its share, so every failure is rerun exactly once, sharded or not.
+ * After a run, the scenarios a JVM ran are taken out of the other manifests, so a
+ * failure listed by one shard and rerun by another isn't listed twice.
+ */
+public class RerunManifest {
+
+    private static final Logger log = LogManager.getLogger(RerunManifest.class);
+
+    private RerunManifest() {
+    }
+
+    public static boolean isRerunMode() {
+        return "failed".equalsIgnoreCase(ConfigReader.getProperty("rerun.mode"));
+    }
+
+    /**
+     * Removes every scenario this JVM ran from all manifests, then adds the ones that
+     * failed to this JVM's own manifest. Scenarios it didn't run stay listed.
+     */
+    public static void write(Collection<String> failedKeys, Collection<String> ranKeys) {
+        File file = Shard.current().resolve(configuredFile());
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists()) parent.mkdirs();
+
+            // shards on the same machine may finish together: one at a time edits the manifests
+            File lockFile = new File(configuredFile().getPath() + ".lock");
+            lockFile.getAbsoluteFile().getParentFile().mkdirs();
+            try (FileChannel channel = FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                for (File manifest : manifestFiles()) {
+                    removeKeys(manifest, ranKeys);
+                }
+                Set<String> keys = new LinkedHashSet<>();
+                if (file.isFile()) {
+                    keys.addAll(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+                }
+                keys.addAll(failedKeys);
+                keys.removeIf(String::isBlank);
+                Files.write(file.toPath(), keys, StandardCharsets.UTF_8);
+            }
+            if (!failedKeys.isEmpty()) {
+                log.info("🔁 {} failed scenario(s) listed for rerun in: {} (run again with -Drerun.mode=failed)",
+                        failedKeys.size(), file.getPath());
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Could not write rerun manifest: {}", e.getMessage());
+        }
+    }
+
+    private static void removeKeys(File manifest, Collection<String> ranKeys) throws IOException {
+        List<String> lines = new ArrayList<>(Files.readAllLines(manifest.toPath(), StandardCharsets.UTF_8));
+        if (lines.removeIf(line -> ranKeys.contains(line.trim()))) {
+            Files.write(manifest.toPath(), lines, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * All scenario keys to rerun.
+     */
+    public static Set<String> read() {
+        Set<String> keys = new LinkedHashSet<>();
+        for (File file : manifestFiles()) {
+            try {
+                Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).stream()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty())
+                        .forEach(keys::add);
+            } catch (IOException e) {
+                log.warn("⚠️ Could not read rerun manifest {}: {}", file, e.getMessage());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Keeps only the data provider rows whose scenario is in the manifest.
+     */
+    public static Object[][] filter(Object[][] rows, Function<Object[], String> keyOfRow) {
+        Set<String> failed = read();
+        List<Object[]> kept = new ArrayList<>();
+        for (Object[] row : rows) {
+            if (failed.contains(keyOfRow.apply(row))) kept.add(row);
+        }
+        log.info("🔁 Rerun mode: {} of {} scenarios failed last time", kept.size(), rows.length);
+        return kept.toArray(new Object[0][]);
+    }
+
+    private static List<File> manifestFiles() {
+        File configured = configuredFile();
+        Set<File> files = new LinkedHashSet<>();
+        files.add(configured);
+        files.add(Shard.current().resolve(configured));
+
+        String path = configured.getPath().replace('\\', '/');
+        File[] shardDirs = new File("test-output").listFiles((dir, name) -> name.startsWith("shard-"));
+        if (path.startsWith("test-output/") && shardDirs != null) {
+            for (File shardDir : shardDirs) {
+                files.add(new File(shardDir, path.substring("test-output/".length())));
+            }
+        }
+        files.removeIf(file -> !file.isFile());
+        return new ArrayList<>(files);
+    }
+
+    private static File configuredFile() {
+        return new File(ConfigReader.getProperty("rerun.file"));
+    }
+}
@@ -0,0 +1,205 @@
+package execution;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ScenarioHistory
+ * -----------------
+ * Purpose:
+ * A small local store of how long each scenario took and whether it passed,
+ * kept across runs in 'history.file' (JSON).
+ *
+ * Per scenario (key = feature uri + ":" + line):
+ *  - avgMs    → moving average of the duration (recent runs weigh more)
+ *  - runs     → how many runs were recorded
+ *  - recent   → last outcomes, newest last (P = passed, F = failed, S = skipped)
+ *  - flakiness → 0..1, how often the outcome flipped between pass and fail in 'recent'
+ *               (a retry that passes after a failure counts as a flip)
+ *
+ * Used by ScenarioScheduler (ordering) and filled by ScenarioHistoryPlugin.
+ *
+ * A shard saves to its own copy (test-output/shard-<n>/...) so shards running at the
+ * same time never overwrite each other's updates; ReportMerger merges the copies back
+ * into history.file afterwards (mergeShards).
+ */
+public class ScenarioHistory {
+
+    private static final Logger log = LogManager.getLogger(ScenarioHistory.class);
+
+    // Weight of the newest duration in the moving average
+    private static final double ALPHA = 0.3;
+    private static final int MAX_RECENT = 10;
+
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Entry> entries = new TreeMap<>();
+
+    /**
+     * One scenario's history.
+     */
+    public static final class Entry {
+        public String name;
+        public double avgMs;
+        public int runs;
+        public String recent = "";
+        public double flakiness;
+
+        public boolean failedLastRun() {
+            return recent.endsWith("F");
+        }
+    }
+
+    /**
+     * Loads the history file (an empty history if it doesn't exist yet).
+     */
+    public static ScenarioHistory load() {
+        return load(file());
+    }
+
+    /**
+     * Loads a history from the given file (an empty history if it doesn't exist).
+     */
+    public static ScenarioHistory load(File file) {
+        ScenarioHistory history = new ScenarioHistory();
+        if (!file.isFile()) {
+            return history;
+        }
+        try {
+            JsonNode scenarios = mapper.readTree(file).path("scenarios");
+            Iterator<Map.Entry<String, JsonNode>> fields = scenarios.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                history.entries.put(field.getKey(), mapper.treeToValue(field.getValue(), Entry.class));
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Could not read scenario history {}: {}", file, e.getMessage());
+        }
+        return history;
+    }
+
+    public Entry get(String key) {
+        return entries.get(key);
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Adds the result of one run of a scenario.
+     */
+    public void record(String key, String name, long durationMs, char outcome) {
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        entry.name = name;
+        entry.avgMs = entry.runs == 0 ? durationMs : ALPHA * durationMs + (1 - ALPHA) * entry.avgMs;
+        entry.runs++;
+        entry.recent = (entry.recent + outcome);
+        if (entry.recent.length() > MAX_RECENT) {
+            entry.recent = entry.recent.substring(entry.recent.length() - MAX_RECENT);
+        }
+        entry.flakiness = flakiness(entry.recent);
+    }
+
+    /**
+     * Share of pass/fail flips between consecutive outcomes (skips ignored).
+     * "PPPP" and "FFFF" → 0, "PFPF" → 1.
+     */
+    private static double flakiness(String recent) {
+        String outcomes = recent.replace("S", "");
+        if (outcomes.length() < 2) {
+            return 0;
+        }
+        int flips = 0;
+        for (int i = 1; i < outcomes.length(); i++) {
+            if (outcomes.charAt(i) != outcomes.charAt(i - 1)) flips++;
+        }
+        return Math.round(100.0 * flips / (outcomes.length() - 1)) / 100.0;
+    }
+
+    /**
+     * The most flaky scenarios (flakiness above 0), worst first.
+     */
+    public List<Map.Entry<String, Entry>> flakiest(int limit) {
+        return entries.entrySet().stream()
+                .filter(e -> e.getValue().flakiness > 0)
+                .sorted(Comparator.comparingDouble((Map.Entry<String, Entry> e) -> e.getValue().flakiness).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Average duration of all known scenarios (used as a guess for new ones).
+     */
+    public double averageMs() {
+        return entries.values().stream().mapToDouble(e -> e.avgMs).average().orElse(0);
+    }
+
+    /**
+     * Saves to history.file, or to this shard's copy of it when sharded.
+     */
+    public void save() {
+        save(Shard.current().resolve(file()));
+    }
+
+    /**
+     * mergeShards()
+     * ---------------
+     * Merges the shards' history copies into history.file. Every shard started from the
+     * same history, so for each scenario the copy with the most runs is the one that ran it.
+     */
+    public static void mergeShards(List<File> shardFiles) {
+        if (shardFiles.isEmpty()) {
+            return;
+        }
+        ScenarioHistory merged = load();
+        for (File shardFile : shardFiles) {
+            load(shardFile).entries.forEach((key, entry) -> {
+                Entry known = merged.entries.get(key);
+                if (known == null || entry.runs > known.runs) {
+                    merged.entries.put(key, entry);
+                }
+            });
+        }
+        merged.save(file());
+        log.info("📈 Scenario history of {} shard(s) merged into: {}", shardFiles.size(), file().getPath());
+    }
+
+    private void save(File file) {
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists()) parent.mkdirs();
+            // write next to it and swap, so a shard reading the file never sees half of it
+            File temp = new File(file.getPath() + "." + ProcessHandle.current().pid() + ".tmp");
+            mapper.writeValue(temp, Map.of("scenarios", entries));
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not save scenario history: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The key used for a scenario everywhere: feature uri + ":" + line.
+     */
+    public static String keyOf(Object uri, int line) {
+        return uri + ":" + line;
+    }
+
+    private static File file() {
+        return new File(ConfigReader.getProperty("history.file"));
+    }
+}
@@ -0,0 +1,91 @@
+package execution;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ScenarioHistoryPlugin
+ * -----------------------
+ * Purpose:
+ * A Cucumber plugin that records every scenario's duration and outcome
+ * and saves them to ScenarioHistory when the run finishes.
+ *
+ * Also writes the RerunManifest (scenarios whose last attempt failed) and
+ * prints the flakiest scenarios.
+ *
+ * Registered in TestRunner's plugin list: "execution.ScenarioHistoryPlugin"
+ */
+public class ScenarioHistoryPlugin implements ConcurrentEventListener {
+
+    private static final Logger log = LogManager.getLogger(ScenarioHistoryPlugin.class);
+
+    private static final int FLAKY_SHOWN = 5;
+
+    // scenario key → every attempt in this run, in order (more than one when retried)
+    private final Map<String, List<Result>> results = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onRunFinished());
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        Status status = event.getResult().getStatus();
+        char outcome = switch (status) {
+            case PASSED -> 'P';
+            case SKIPPED, UNUSED -> 'S';
+            default -> 'F';
+        };
+
+        results.computeIfAbsent(ScenarioHistory.keyOf(testCase.getUri(), testCase.getLocation().getLine()),
+                        key -> Collections.synchronizedList(new ArrayList<>()))
+                .add(new Result(testCase.getName(), event.getResult().getDuration().toMillis(), outcome));
+    }
+
+    private void onRunFinished() {
+        ScenarioHistory history = ScenarioHistory.load();
+        List<String> failed = new ArrayList<>();
+        results.forEach((key, attempts) -> {
+            for (Result result : attempts) {
+                history.record(key, result.name, result.durationMs, result.outcome);
+            }
+            if (attempts.get(attempts.size() - 1).outcome == 'F') {
+                failed.add(key);
+            }
+        });
+        history.save();
+
+        Collections.sort(failed);
+        RerunManifest.write(failed, results.keySet());
+        printFlaky(history);
+    }
+
+    private void printFlaky(ScenarioHistory history) {
+        List<Map.Entry<String, ScenarioHistory.Entry>> flaky = history.flakiest(FLAKY_SHOWN);
+        if (flaky.isEmpty()) {
+            return;
+        }
+        log.info("🎲 Flakiest scenarios (flakiness 0..1, recent outcomes oldest → newest):");
+        for (Map.Entry<String, ScenarioHistory.Entry> e : flaky) {
+            log.printf(Level.INFO, "  %.2f  %-12s %s", e.getValue().flakiness, e.getValue().recent, e.getValue().name);
+        }
+    }
+
+    private record Result(String name, long durationMs, char outcome) {
+    }
+}
@@ -0,0 +1,45 @@
+package execution;
+
+import config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ScenarioRetry
+ * ---------------
+ * Purpose:
+ * Runs a failed scenario again straight away, in the same JVM, up to 'rerun.retries' times.
+ *
+ * A scenario that passes on retry still shows the failed attempt in the reports and
+ * counts towards its flakiness score (ScenarioHistory), so flaky tests stay visible.
+ *
+ * Used by TestRunner.runScenario (@Test retryAnalyzer).
+ */
+public class ScenarioRetry implements IRetryAnalyzer {
+
+    private static final Logger log = LogManager.getLogger(ScenarioRetry.class);
+
+    // scenario (the row's PickleWrapper, same instance on every attempt) → retries used so far
+    private static final Map<Object, AtomicInteger> retries = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean retry(ITestResult result) {
+        int maxRetries = ConfigReader.getIntProperty("rerun.retries");
+        if (maxRetries <= 0) {
+            return false;
+        }
+        Object scenario = result.getParameters()[0];
+        int attempt = retries.computeIfAbsent(scenario, k -> new AtomicInteger()).incrementAndGet();
+        if (attempt > maxRetries) {
+            return false;
+        }
+        log.info("🔁 Retrying {} ({}/{})", scenario, attempt, maxRetries);
+        return true;
+    }
+}
@@ -0,0 +1,206 @@
+package execution;
+
+import config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+/**
+ * ScenarioScheduler
+ * -------------------
+ * Purpose:
+ * Decides in which order scenarios are handed to the parallel workers.
+ *
+ * Why:
+ * With N workers the suite ends when the LAST worker is done. Starting the
+ * longest scenarios first (LPT = "longest processing time first") and filling
+ * the gaps with short ones gives the shortest total time.
+ *
+ * Modes ('schedule.mode'):
+ *  - lpt     → longest expected duration first (from ScenarioHistory)
+ *  - feature → keep feature-file order
+ * 'schedule.failures.first = true' puts scenarios that failed last time in front,
+ * for faster feedback.
+ *
+ * Scenarios without history are treated as "average" duration.
+ *
+ * Sharding ('shard = 2/5'):
+ * Before ordering, shard() keeps only this JVM's share of the scenarios. Every
+ * shard computes the SAME split, so the shards together run each scenario exactly once:
+ *  - with 'shard.timings.file' (a read-only copy of a merged history that no run writes),
+ *    the split is balanced by expected time
+ *  - without it, each scenario goes to a shard picked by a stable hash of its key
+ * The live history.file is never used for the split: it changes while shards run.
+ * Scenarios that split their own work across shards (@dataset, see DataDrivenRun) are
+ * not split here: every shard runs them.
+ */
+public class ScenarioScheduler {
+
+    private static final Logger log = LogManager.getLogger(ScenarioScheduler.class);
+
+    private ScenarioScheduler() {
+    }
+
+    /**
+     * Returns the rows reordered for the configured mode, plus the predicted suite time.
+     *
+     * @param rows      TestNG data provider rows (one per scenario)
+     * @param keyOfRow  gives the ScenarioHistory key of a row
+     * @param workers   number of parallel workers
+     */
+    public static Schedule schedule(Object[][] rows, Function<Object[], String> keyOfRow, int workers) {
+        ScenarioHistory history = ScenarioHistory.load();
+        double fallbackMs = history.averageMs();
+
+        List<Object[]> ordered = new ArrayList<>(Arrays.asList(rows));
+        Function<Object[], Double> expectedMs = row -> {
+            ScenarioHistory.Entry entry = history.get(keyOfRow.apply(row));
+            return entry == null ? fallbackMs : entry.avgMs;
+        };
+
+        Comparator<Object[]> order = (a, b) -> 0;
+        if (ConfigReader.getBooleanProperty("schedule.failures.first")) {
+            order = Comparator.comparing((Object[] row) -> {
+                ScenarioHistory.Entry entry = history.get(keyOfRow.apply(row));
+                return entry != null && entry.failedLastRun() ? 0 : 1;
+            });
+        }
+        if ("lpt".equalsIgnoreCase(ConfigReader.getProperty("schedule.mode"))) {
+            order = order.thenComparing(expectedMs, Comparator.reverseOrder());
+        }
+        ordered.sort(order);   // stable: ties keep feature-file order
+
+        long predictedMs = predictMakespan(ordered, expectedMs, workers);
+        return new Schedule(ordered.toArray(new Object[0][]), predictedMs);
+    }
+
+    /**
+     * Returns the rows that belong to the given shard (all rows when not sharded).
+     *
+     * Split with timings: scenarios sorted longest first (ties by key, so every JVM sorts the
+     * same way), each one given to the shard with the least expected time so far (ties → lowest index).
+     * Split without timings: stable hash of the scenario key, modulo the shard count.
+     * Rows keep their original relative order.
+     *
+     * @param everyShard rows every shard keeps (scenarios that split their own work by shard)
+     */
+    public static Object[][] shard(Object[][] rows, Function<Object[], String> keyOfRow,
+                                   Predicate<Object[]> everyShard, Shard shard) {
+        if (!shard.isSharded()) {
+            return rows;
+        }
+        List<Object[]> toSplit = new ArrayList<>();
+        for (Object[] row : rows) {
+            if (!everyShard.test(row)) toSplit.add(row);
+        }
+        Set<Object[]> mine = Collections.newSetFromMap(new IdentityHashMap<>());
+        mine.addAll(Arrays.asList(split(toSplit.toArray(new Object[0][]), keyOfRow, shard)));
+
+        List<Object[]> kept = new ArrayList<>();
+        for (Object[] row : rows) {
+            if (mine.contains(row) || everyShard.test(row)) kept.add(row);
+        }
+        if (toSplit.size() < rows.length) {
+            log.info("🧩 Shard {}: + {} scenario(s) run by every shard (they split their own rows)",
+                    shard, rows.length - toSplit.size());
+        }
+        return kept.toArray(new Object[0][]);
+    }
+
+    private static Object[][] split(Object[][] rows, Function<Object[], String> keyOfRow, Shard shard) {
+        String timingsPath = ConfigReader.getProperty("shard.timings.file");
+        ScenarioHistory timings = timingsPath == null || timingsPath.isBlank()
+                ? null
+                : ScenarioHistory.load(new File(timingsPath.trim()));
+        if (timings == null || timings.isEmpty()) {
+            return shardByHash(rows, keyOfRow, shard);
+        }
+        double fallbackMs = timings.averageMs();
+
+        Integer[] byDuration = new Integer[rows.length];
+        double[] expectedMs = new double[rows.length];
+        String[] keys = new String[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            byDuration[i] = i;
+            keys[i] = keyOfRow.apply(rows[i]);
+            ScenarioHistory.Entry entry = timings.get(keys[i]);
+            expectedMs[i] = entry == null ? fallbackMs : entry.avgMs;
+        }
+        Arrays.sort(byDuration, Comparator.comparingDouble((Integer i) -> expectedMs[i]).reversed()
+                .thenComparing(i -> keys[i]));
+
+        double[] shardLoads = new double[shard.getTotal()];
+        boolean[] mine = new boolean[rows.length];
+        for (int i : byDuration) {
+            int target = 0;
+            for (int s = 1; s < shardLoads.length; s++) {
+                if (shardLoads[s] < shardLoads[target]) target = s;
+            }
+            shardLoads[target] += Math.max(expectedMs[i], 1);
+            mine[i] = target == shard.getIndex() - 1;
+        }
+
+        List<Object[]> kept = new ArrayList<>();
+        for (int i = 0; i < rows.length; i++) {
+            if (mine[i]) kept.add(rows[i]);
+        }
+        log.info("🧩 Shard {}: {} of {} scenarios, expected {} s (slowest shard {} s)",
+                shard, kept.size(), rows.length,
+                Math.round(shardLoads[shard.getIndex() - 1] / 1000),
+                Math.round(Arrays.stream(shardLoads).max().orElse(0) / 1000));
+        return kept.toArray(new Object[0][]);
+    }
+
+    private static Object[][] shardByHash(Object[][] rows, Function<Object[], String> keyOfRow, Shard shard) {
+        List<Object[]> kept = new ArrayList<>();
+        for (Object[] row : rows) {
+            if (Math.floorMod(stableHash(keyOfRow.apply(row)), shard.getTotal()) == shard.getIndex() - 1) {
+                kept.add(row);
+            }
+        }
+        log.info("🧩 Shard {}: {} of {} scenarios (split by scenario key; set shard.timings.file to balance by time)",
+                shard, kept.size(), rows.length);
+        return kept.toArray(new Object[0][]);
+    }
+
+    // Same value in every JVM; the CRC is mixed so keys that differ only in the line number spread evenly
+    private static long stableHash(String key) {
+        CRC32 crc = new CRC32();
+        crc.update(key.getBytes(StandardCharsets.UTF_8));
+        long h = crc.getValue() * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * Simulates handing the scenarios, in order, to whichever worker is free first.
+     */
+    private static long predictMakespan(List<Object[]> ordered, Function<Object[], Double> expectedMs, int workers) {
+        PriorityQueue<Double> workerLoads = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(1, workers); i++) {
+            workerLoads.add(0.0);
+        }
+        for (Object[] row : ordered) {
+            workerLoads.add(workerLoads.poll() + expectedMs.apply(row));
+        }
+        return Math.round(workerLoads.stream().mapToDouble(Double::doubleValue).max().orElse(0));
+    }
+
+    /**
+     * The reordered rows and the predicted suite time (ms, 0 when there is no history).
+     */
+    public record Schedule(Object[][] rows, long predictedMs) {
+    }
+}
@@ -0,0 +1,94 @@
+package execution;
+
+import config.ConfigReader;
+
+import java.io.File;
+
+/**
+ * Shard
+ * -------
+ * Purpose:
+ * Tells this JVM which part of the suite it runs when the suite is split
+ * across several JVMs / machines.
+ *
+ * Set with 'shard = <index>/<total>' (e.g. -Dshard=2/5 → the 2nd of 5 shards).
+ * Empty = no sharding, this JVM runs everything.
+ *
+ * Each shard writes its reports to test-output/shard-<index>/ so shards never
+ * overwrite each other; ReportMerger combines them afterwards.
+ */
+public final class Shard {
+
+    private final int index;
+    private final int total;
+
+    private Shard(int index, int total) {
+        this.index = index;
+        this.total = total;
+    }
+
+    /**
+     * Reads the 'shard' setting. Returns a single "1/1" shard when it is not set.
+     */
+    public static Shard current() {
+        return parse(ConfigReader.getProperty("shard"));
+    }
+
+    /**
+     * Parses a 'shard' value like "2/5"; null or blank means "1/1".
+     */
+    public static Shard parse(String value) {
+        if (value == null || value.isBlank()) {
+            return new Shard(1, 1);
+        }
+
+        String[] parts = value.trim().split("/");
+        if (parts.length != 2) {
+            throw new RuntimeException("Invalid shard '" + value + "', expected <index>/<total> like 2/5");
+        }
+        int index = Integer.parseInt(parts[0].trim());
+        int total = Integer.parseInt(parts[1].trim());
+        if (total < 1 || index < 1 || index > total) {
+            throw new RuntimeException("Invalid shard '" + value + "', index must be between 1 and total");
+        }
+        return new Shard(index, total);
+    }
+
+    public boolean isSharded() {
+        return total > 1;
+    }
+
+    /** 1-based index of this shard */
+    public int getIndex() {
+        return index;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Folder for this JVM's reports: test-output, or test-output/shard-<index> when sharded.
+     */
+    public String outputDir() {
+        return isSharded() ? "test-output/shard-" + index : "test-output";
+    }
+
+    /**
+     * Moves a path under test-output into this shard's folder
+     * (test-output/cucumber-report.json → test-output/shard-2/cucumber-report.json).
+     * Other paths, and all paths when not sharded, are returned unchanged.
+     */
+    public File resolve(File file) {
+        String path = file.getPath().replace('\\', '/');
+        if (!isSharded() || !path.startsWith("test-output/")) {
+            return file;
+        }
+        return new File(outputDir() + path.substring("test-output".length()));
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + total;
+    }
+}
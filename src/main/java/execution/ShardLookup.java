@@ -0,0 +1,40 @@
+package execution;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.lookup.StrLookup;
+
+/**
+ * ShardLookup
+ * -------------
+ * Purpose:
+ * Lets log4j2.xml name log files after the shard, so shards started side by side
+ * (-Dshard=2/5, with or without -Pshard) don't overwrite each other's logs.
+ *
+ * ${shard:suffix} → "-shard-2" for -Dshard=2/5, "" when not sharded.
+ *
+ * Reads the 'shard' system property directly: log4j resolves this while it starts,
+ * before anything may log (ConfigReader itself logs), so it can't go through ConfigReader.
+ */
+@Plugin(name = "shard", category = StrLookup.CATEGORY)
+public class ShardLookup implements StrLookup {
+
+    @Override
+    public String lookup(String key) {
+        if (!"suffix".equals(key)) {
+            return null;
+        }
+        try {
+            Shard shard = Shard.parse(System.getProperty("shard"));
+            return shard.isSharded() ? "-shard-" + shard.getIndex() : "";
+        } catch (RuntimeException e) {
+            // An invalid value fails the run later with a clear message (Shard.current())
+            return "";
+        }
+    }
+
+    @Override
+    public String lookup(LogEvent event, String key) {
+        return lookup(key);
+    }
+}
@@ -1,6 +1,8 @@
 package pages;
 
 import base.BasePage;
+import base.CachingFieldDecorator;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -21,7 +23,7 @@ public class DashboardPage extends BasePage {
     // ✅ Constructor - pass driver to BasePage and initialize elements
     public DashboardPage(WebDriver driver) {
         super(driver);
-        PageFactory.initElements(driver, this);
+        PageFactory.initElements(new CachingFieldDecorator(driver), this);
     }
 
     // ✅ Page Elements
@@ -29,16 +31,15 @@ public class DashboardPage extends BasePage {
     @FindBy(xpath = "//h6[text()='Dashboard']")
     private WebElement dashboardHeader;
 
+    // Login error alert: if it shows up, the dashboard will not (used to fail fast)
+    private static final By LOGIN_ERROR = By.xpath("//p[contains(@class,'oxd-alert-content-text')]");
+
     // ✅ Page Actions
 
     /** Check if Dashboard header is displayed */
     // returns true if dashboard header is visible
+    // stops waiting as soon as the login error appears instead of timing out
     public boolean isDashboardDisplayed() {
-        try {
-            waitForVisibility(dashboardHeader); // BasePage wait
-            return dashboardHeader.isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return isVisibleUnless(dashboardHeader, LOGIN_ERROR); // BasePage fast-fail wait
     }
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package pages;
 
 import base.BasePage;
+import base.CachingFieldDecorator;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.CacheLookup;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
 
+import java.util.List;
+
 /**
  * LoginPage
  * ------------
@@ -22,17 +26,21 @@ public class LoginPage extends BasePage {
     // ✅ Constructor - initializes PageFactory elements and calls BasePage constructor
     public LoginPage(WebDriver driver) {
         super(driver); // sends driver to BasePage
-        PageFactory.initElements(driver, this);
+        PageFactory.initElements(new CachingFieldDecorator(driver), this);
     }
 
     // ✅ Page Elements
+    // @CacheLookup: found once per page and reused (re-found automatically if stale)
     @FindBy(name = "username")
+    @CacheLookup
     private WebElement usernameInput;
 
     @FindBy(name = "password")
+    @CacheLookup
     private WebElement passwordInput;
 
     @FindBy(xpath = "//button[@type='submit']")
+    @CacheLookup
     private WebElement loginButton;
 
     @FindBy(xpath = "//p[contains(@class,'oxd-text oxd-text--p oxd-alert-content-text')]")
@@ -50,16 +58,16 @@ public class LoginPage extends BasePage {
         type(passwordInput, password);
     }
 
-    /** Click on the login button */
+    /** Click on the login button (waits for the next page to be ready) */
     public void clickLoginButton() {
         click(loginButton);
+        waitForPageReady();
     }
 
-    /** Perform complete login */
+    /** Perform complete login (fills the form and submits in one browser call) */
     public void login(String username, String password) {
-        enterUsername(username);
-        enterPassword(password);
-        clickLoginButton();
+        fillAndSubmit(List.of(usernameInput, passwordInput), List.of(username, password), loginButton); // BasePage batched form-fill
+        waitForPageReady();
     }
 
     /** Read error message if login fails */
@@ -0,0 +1,52 @@
+package reporting;
+
+import execution.Shard;
+import io.cucumber.core.plugin.HtmlFormatter;
+import io.cucumber.core.plugin.JsonFormatter;
+import io.cucumber.plugin.EventListener;
+import io.cucumber.plugin.event.EventPublisher;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * CucumberReportsPlugin
+ * -----------------------
+ * Purpose:
+ * Writes the standard Cucumber HTML and JSON reports, but into this shard's folder.
+ *
+ * Same as "html:test-output/CucumberReport.html" + "json:test-output/cucumber-report.json",
+ * except that with 'shard = 2/5' they go to test-output/shard-2/ (plugin paths in
+ * @CucumberOptions are fixed at compile time, so they can't follow the shard).
+ *
+ * Registered in TestRunner's plugin list: "reporting.CucumberReportsPlugin"
+ */
+public class CucumberReportsPlugin implements EventListener {
+
+    private final JsonFormatter json;
+    private final HtmlFormatter html;
+
+    public CucumberReportsPlugin() throws IOException {
+        Shard shard = Shard.current();
+        json = new JsonFormatter(open(shard.resolve(new File("test-output/cucumber-report.json"))));
+        html = new HtmlFormatter(open(shard.resolve(new File("test-output/CucumberReport.html"))));
+    }
+
+    /**
+     * Both formatters close their stream when the run finishes.
+     */
+    private static OutputStream open(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) parent.mkdirs();
+        return new BufferedOutputStream(new FileOutputStream(file));
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        json.setEventPublisher(publisher);
+        html.setEventPublisher(publisher);
+    }
+}
@@ -0,0 +1,81 @@
+package reporting;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter;
+import execution.ScenarioHistory;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+
+/**
+ * ExtentAdapterPlugin
+ * ---------------------
+ * Purpose:
+ * Adds the Extent Cucumber adapter (the classic, in-memory Extent report) only
+ * when 'report.streaming' is false.
+ *
+ * In streaming mode ExtentManager writes results to disk as scenarios finish;
+ * the adapter would still build the whole report model in memory, so it is left out
+ * and each finished step is logged to the streaming report instead (one line per step,
+ * next to the screenshot / flight record entries Hooks logs through ExtentManager).
+ * (@CucumberOptions plugins are fixed at compile time, so the switch lives here.)
+ *
+ * Each scenario's report entry also gets its ScenarioHistory key (feature uri:line) in
+ * its info map, so ReportMerger can tell apart outline examples that share one name.
+ *
+ * Registered in TestRunner's plugin list: "reporting.ExtentAdapterPlugin:"
+ */
+public class ExtentAdapterPlugin implements ConcurrentEventListener {
+
+    /** Info map entry (in the Extent JSON archive) holding the scenario's uri:line */
+    public static final String SCENARIO_KEY = "scenarioKey";
+
+    private final String argument;
+
+    public ExtentAdapterPlugin(String argument) {
+        this.argument = argument;
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (!ExtentManager.isStreaming()) {
+            new ExtentCucumberAdapter(argument).setEventPublisher(publisher);
+            // registered after the adapter, so its scenario entry exists when this runs
+            publisher.registerHandlerFor(TestCaseStarted.class, this::tagScenario);
+        } else {
+            publisher.registerHandlerFor(TestStepFinished.class, ExtentAdapterPlugin::logStep);
+        }
+    }
+
+    // Runs on the scenario's own thread, where Hooks started its streaming test
+    private static void logStep(TestStepFinished event) {
+        if (!(event.getTestStep() instanceof PickleStepTestStep step)) {
+            return;   // hooks
+        }
+        Result result = event.getResult();
+        String message = step.getStep().getKeyword() + step.getStep().getText();
+        if (result.getError() != null) {
+            message += " → " + result.getError().getMessage();
+        }
+        Status status = switch (result.getStatus()) {
+            case PASSED -> Status.PASS;
+            case FAILED, AMBIGUOUS, UNDEFINED -> Status.FAIL;
+            default -> Status.SKIP;
+        };
+        StreamingReportWriter.log(status, message);
+    }
+
+    private void tagScenario(TestCaseStarted event) {
+        ExtentTest scenario = ExtentCucumberAdapter.getCurrentScenario();
+        if (scenario != null) {
+            TestCase testCase = event.getTestCase();
+            scenario.getModel().getInfoMap().put(SCENARIO_KEY,
+                    ScenarioHistory.keyOf(testCase.getUri(), testCase.getLocation().getLine()));
+        }
+    }
+}
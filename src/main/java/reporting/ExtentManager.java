@@ -2,8 +2,12 @@ package reporting;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
+import config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
  * ExtentManager
@@ -16,11 +20,21 @@ import com.aventstack.extentreports.reporter.configuration.Theme;
  * - Think of it as the "report factory".
  * - It makes a single report file for all your tests.
  * - Each test case adds its own entries into the same report.
+ *
+ * Parallel runs:
+ * - The current test is tracked per thread, so parallel scenarios never log into each other.
+ *
+ * Streaming mode ('report.streaming = true'):
+ * - For very large runs: finished tests are written to disk right away by
+ *   StreamingReportWriter instead of being kept in memory until flushReports().
+ * - Use startTest() / log() / endTest(); flushReports() renders the HTML from the stream.
  */
 public class ExtentManager {
 
+    private static final Logger log = LogManager.getLogger(ExtentManager.class);
+
     private static ExtentReports extent;
-    private static ExtentTest test;
+    private static final ThreadLocal<ExtentTest> test = new ThreadLocal<>();
     private static final String REPORT_PATH = System.getProperty("user.dir") + "/test-output/ExtentReport.html";
 
     /**
@@ -29,7 +43,7 @@ public class ExtentManager {
      * Ensures there is only ONE ExtentReports instance.
      * (Singleton pattern)
      */
-    public static ExtentReports getInstance() {
+    public static synchronized ExtentReports getInstance() {
         if (extent == null) {
             createInstance();
         }
@@ -58,7 +72,7 @@ public class ExtentManager {
         extent.setSystemInfo("Browser", "Chrome");
         extent.setSystemInfo("Tester", "Your Name");
 
-        System.out.println("📊 Extent Report initialized at: " + REPORT_PATH);
+        log.info("📊 Extent Report initialized at: {}", REPORT_PATH);
     }
 
     /**
@@ -68,8 +82,56 @@ public class ExtentManager {
      * Each scenario/test method will have its own test section.
      */
     public ExtentTest createTest(String testName) {
-        test = extent.createTest(testName);
-        return test;
+        test.set(getInstance().createTest(testName));
+        return test.get();
+    }
+
+    /**
+     * getTest()
+     * -----------
+     * Returns the test entry of the current thread (or null if none was created).
+     */
+    public static ExtentTest getTest() {
+        return test.get();
+    }
+
+    /**
+     * isStreaming()
+     * ---------------
+     * True when results are streamed to disk instead of kept in memory.
+     */
+    public static boolean isStreaming() {
+        return ConfigReader.getBooleanProperty("report.streaming");
+    }
+
+    /**
+     * startTest() / log() / endTest()
+     * ---------------------------------
+     * Mode-independent way to report one test from the thread running it.
+     */
+    public static void startTest(String testName) {
+        if (isStreaming()) {
+            StreamingReportWriter.startTest(testName);
+        } else {
+            test.set(getInstance().createTest(testName));
+        }
+    }
+
+    public static void log(Status status, String message) {
+        if (isStreaming()) {
+            StreamingReportWriter.log(status, message);
+        } else if (test.get() != null) {
+            test.get().log(status, message);
+        }
+    }
+
+    public static void endTest(Status status) {
+        if (isStreaming()) {
+            StreamingReportWriter.endTest(status);
+        } else if (test.get() != null) {
+            test.get().log(status, "Test finished: " + status);
+            test.remove();
+        }
     }
 
     /**
@@ -79,9 +141,12 @@ public class ExtentManager {
      * This should be called at the end of test execution.
      */
     public void flushReports() {
+        if (isStreaming()) {
+            StreamingReportWriter.render();
+        }
         if (extent != null) {
             extent.flush();
-            System.out.println("🧾 Extent Report saved successfully at: " + REPORT_PATH);
+            log.info("🧾 Extent Report saved successfully at: {}", REPORT_PATH);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,472 @@
+package reporting;
+
+import config.ConfigReader;
+import execution.ScenarioHistory;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * ReportMerger
+ * --------------
+ * Purpose:
+ * Combines the reports of several forks / machines (shards) into ONE report.
+ *
+ * Input:  every 'cucumber-report.json' and 'ExtentReport.json' (or, for shards run with
+ *         'report.streaming', StreamingReportWriter's results file) found under the shard
+ *         folders of a folder (default: test-output), e.g. test-output/shard-1/...,
+ *         test-output/shard-2/... (reports outside a shard-N folder are left out)
+ * Output: test-output/merged/cucumber-report.json
+ *         test-output/merged/CucumberReport.html
+ *         test-output/merged/ExtentReport.html
+ *         history.file (the shards' scenario histories, see ScenarioHistory.mergeShards)
+ *
+ * How the Cucumber JSON is merged without loading it all into memory:
+ *  1. Each shard file is read with a streaming parser; every scenario (with its
+ *     background) is spilled as one JSON line to a temp file, grouped by feature uri
+ *  2. For each feature, scenarios are written once; when the same scenario appears
+ *     in several shards (e.g. a rerun), the LAST one wins
+ *  3. The merged JSON and the HTML summary are written in the same streaming pass
+ *
+ * The Extent JSON archives are merged the same way: one line per scenario, last run wins,
+ * rendered by StreamingReportWriter.
+ *
+ * Usage:
+ *   mvn compile exec:java@merge-reports   (runs no tests)
+ *   or: java reporting.ReportMerger [inputDir] [outputDir]
+ */
+public class ReportMerger {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final JsonFactory factory = mapper.getFactory();
+    private static final Pattern SHARD_DIR = Pattern.compile("shard-\\d+");
+
+    public static void main(String[] args) throws IOException {
+        Path inputDir = Paths.get(args.length > 0 ? args[0] : "test-output");
+        Path outputDir = Paths.get(args.length > 1 ? args[1] : inputDir.resolve("merged").toString());
+        merge(inputDir, outputDir);
+    }
+
+    /**
+     * merge()
+     * ---------
+     * Finds all shard outputs under inputDir and writes the combined reports to outputDir.
+     */
+    public static void merge(Path inputDir, Path outputDir) throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(outputDir);
+
+        List<Path> cucumberFiles = find(inputDir, outputDir, "cucumber-report.json");
+        List<Path> extentFiles = find(inputDir, outputDir, "ExtentReport.json");
+        String resultsName = new File(ConfigReader.getProperty("report.streaming.results")).getName();
+        List<Path> streamedFiles = find(inputDir, outputDir, resultsName);
+
+        System.out.println("🔗 Merging " + cucumberFiles.size() + " Cucumber and "
+                + (extentFiles.size() + streamedFiles.size()) + " Extent shard report(s) from " + inputDir);
+
+        if (!cucumberFiles.isEmpty()) {
+            mergeCucumber(cucumberFiles, outputDir);
+        }
+        if (!extentFiles.isEmpty() || !streamedFiles.isEmpty()) {
+            mergeExtent(extentFiles, streamedFiles, outputDir);
+        }
+        String historyName = new File(ConfigReader.getProperty("history.file")).getName();
+        ScenarioHistory.mergeShards(find(inputDir, outputDir, historyName).stream().map(Path::toFile).toList());
+
+        System.out.println("🔗 Reports merged in " + (System.nanoTime() - start) / 1_000_000
+                + " ms → " + outputDir.toAbsolutePath());
+    }
+
+    private static List<Path> find(Path inputDir, Path outputDir, String fileName) throws IOException {
+        if (!Files.isDirectory(inputDir)) {
+            return List.of();
+        }
+        Path skip = outputDir.toAbsolutePath().normalize();
+        try (Stream<Path> files = Files.walk(inputDir)) {
+            return files.filter(p -> p.getFileName().toString().equals(fileName))
+                    .filter(p -> !p.toAbsolutePath().normalize().startsWith(skip))
+                    .filter(p -> inShardDir(inputDir.relativize(p)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // shard-2 for test-output/shard-2/ExtentReports/ExtentReport.json
+    private static String shardOf(Path file) {
+        for (Path dir = file.getParent(); dir != null && dir.getFileName() != null; dir = dir.getParent()) {
+            if (SHARD_DIR.matcher(dir.getFileName().toString()).matches()) {
+                return dir.getFileName().toString();
+            }
+        }
+        return "";
+    }
+
+    // Only shard outputs: a report left directly in test-output is from an old, unsharded run
+    private static boolean inShardDir(Path relative) {
+        for (Path part : relative) {
+            if (SHARD_DIR.matcher(part.toString()).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ======================= Cucumber JSON =======================
+
+    private static void mergeCucumber(List<Path> shardFiles, Path outputDir) throws IOException {
+        Path spillDir = Files.createTempDirectory("cucumber-merge");
+        try {
+            // feature uri → its header (everything except 'elements') and spilled scenario files
+            Map<String, FeatureParts> features = new LinkedHashMap<>();
+            int spillCount = 0;
+
+            for (Path shardFile : shardFiles) {
+                try (JsonParser parser = factory.createParser(shardFile.toFile())) {
+                    if (parser.nextToken() != JsonToken.START_ARRAY) {
+                        System.err.println("⚠️ Skipping " + shardFile + " (not a Cucumber JSON array)");
+                        continue;
+                    }
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        Path spill = spillDir.resolve("part-" + (spillCount++) + ".jsonl");
+                        ObjectNode header = spillFeature(parser, spill);
+                        String uri = header.path("uri").asText(header.path("id").asText());
+                        features.computeIfAbsent(uri, u -> new FeatureParts(header)).spills.add(spill);
+                    }
+                }
+            }
+
+            writeCucumberOutputs(features, outputDir);
+        } finally {
+            try (Stream<Path> files = Files.walk(spillDir)) {
+                files.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Reads one feature object. Scenarios go to the spill file (one line each, with their
+     * background); all other fields are returned as the feature header.
+     */
+    private static ObjectNode spillFeature(JsonParser parser, Path spill) throws IOException {
+        ObjectNode header = mapper.createObjectNode();
+        try (BufferedWriter out = Files.newBufferedWriter(spill, StandardCharsets.UTF_8)) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+
+                if ("elements".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                    JsonNode pendingBackground = null;
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        JsonNode element = mapper.readTree(parser);
+                        if ("background".equals(element.path("type").asText())) {
+                            pendingBackground = element;
+                            continue;
+                        }
+                        ArrayNode unit = mapper.createArrayNode();
+                        if (pendingBackground != null) unit.add(pendingBackground);
+                        unit.add(element);
+                        pendingBackground = null;
+
+                        out.write(mapper.writeValueAsString(unit));
+                        out.newLine();
+                    }
+                } else {
+                    header.set(field, mapper.readTree(parser));
+                }
+            }
+        }
+        return header;
+    }
+
+    private static void writeCucumberOutputs(Map<String, FeatureParts> features, Path outputDir) throws IOException {
+        File jsonOut = outputDir.resolve("cucumber-report.json").toFile();
+        Path htmlOut = outputDir.resolve("CucumberReport.html");
+        int[] totals = new int[3];   // passed, failed, skipped
+
+        try (JsonGenerator json = factory.createGenerator(jsonOut, JsonEncoding.UTF8);
+             BufferedWriter html = Files.newBufferedWriter(htmlOut, StandardCharsets.UTF_8)) {
+
+            html.write("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Merged Cucumber Report</title>"
+                    + "<style>body{font-family:'Segoe UI',sans-serif;margin:20px}table{border-collapse:collapse;width:100%}"
+                    + "td,th{border:1px solid #ddd;padding:6px}.passed{color:#2e7d32}.failed{color:#c62828}"
+                    + ".skipped{color:#f9a825}</style></head><body><h2>Merged Cucumber Report</h2>\n"
+                    + "<table><thead><tr><th>Feature</th><th>Scenario</th><th>Status</th><th>Duration (ms)</th></tr></thead><tbody>\n");
+
+            json.writeStartArray();
+            for (FeatureParts feature : features.values()) {
+                json.writeStartObject();
+                Iterator<Map.Entry<String, JsonNode>> fields = feature.header.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    json.writeFieldName(field.getKey());
+                    mapper.writeTree(json, field.getValue());
+                }
+
+                json.writeArrayFieldStart("elements");
+                String featureName = feature.header.path("name").asText();
+                Map<String, Long> lastOccurrence = indexLastOccurrences(feature.spills);
+                long position = 0;
+                for (Path spill : feature.spills) {
+                    try (BufferedReader reader = Files.newBufferedReader(spill, StandardCharsets.UTF_8)) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            JsonNode unit = mapper.readTree(line);
+                            JsonNode scenario = unit.get(unit.size() - 1);
+                            if (lastOccurrence.get(scenarioKey(scenario)) != position++) {
+                                continue;   // an older run of the same scenario
+                            }
+                            for (JsonNode element : unit) {
+                                mapper.writeTree(json, element);
+                            }
+                            writeHtmlRow(html, featureName, scenario, totals);
+                        }
+                    }
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+
+            html.write("</tbody></table><p>Passed: " + totals[0] + " | Failed: " + totals[1]
+                    + " | Skipped: " + totals[2] + "</p></body></html>\n");
+        }
+    }
+
+    /**
+     * scenario key → position of its last occurrence across all spill files of a feature.
+     */
+    private static Map<String, Long> indexLastOccurrences(List<Path> spills) throws IOException {
+        Map<String, Long> last = new HashMap<>();
+        long position = 0;
+        for (Path spill : spills) {
+            try (BufferedReader reader = Files.newBufferedReader(spill, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    JsonNode unit = mapper.readTree(line);
+                    last.put(scenarioKey(unit.get(unit.size() - 1)), position++);
+                }
+            }
+        }
+        return last;
+    }
+
+    private static String scenarioKey(JsonNode scenario) {
+        return scenario.path("id").asText() + ":" + scenario.path("line").asInt();
+    }
+
+    private static void writeHtmlRow(BufferedWriter html, String feature, JsonNode scenario, int[] totals) throws IOException {
+        String status = "passed";
+        long durationNanos = 0;
+        for (String section : new String[]{"before", "steps", "after"}) {
+            for (JsonNode step : scenario.path(section)) {
+                JsonNode result = step.path("result");
+                durationNanos += result.path("duration").asLong();
+                String stepStatus = result.path("status").asText("passed");
+                if ("failed".equals(stepStatus)) {
+                    status = "failed";
+                } else if (!"passed".equals(stepStatus) && "passed".equals(status)) {
+                    status = "skipped";
+                }
+            }
+        }
+        totals["passed".equals(status) ? 0 : "failed".equals(status) ? 1 : 2]++;
+
+        html.write("<tr><td>" + escape(feature) + "</td><td>" + escape(scenario.path("name").asText())
+                + "</td><td class=\"" + status + "\">" + status + "</td><td>" + durationNanos / 1_000_000 + "</td></tr>\n");
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    // ======================= Extent =======================
+
+    /**
+     * Rebuilds one Extent report from the JSON archives written by each shard
+     * ('extent.reporter.json' in extent.properties), one feature at a time:
+     *  1. Every scenario is spilled as one result line (StreamingReportWriter's format);
+     *     shards that ran in streaming mode already wrote such lines, which are copied as is
+     *  2. A retried scenario keeps only its LAST run; scenarios are told apart by the
+     *     feature uri:line ExtentAdapterPlugin stores (one per outline example)
+     *  3. StreamingReportWriter renders the kept lines to ExtentReport.html
+     */
+    private static void mergeExtent(List<Path> shardFiles, List<Path> streamedFiles, Path outputDir) throws IOException {
+        Path spill = Files.createTempFile("extent-merge", ".jsonl");
+        Path kept = Files.createTempFile("extent-merged", ".jsonl");
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(spill, StandardCharsets.UTF_8)) {
+                for (Path shardFile : shardFiles) {
+                    String shardName = shardOf(shardFile);
+                    Map<String, Integer> seenNames = new HashMap<>();
+                    try (JsonParser parser = factory.createParser(shardFile.toFile())) {
+                        if (parser.nextToken() != JsonToken.START_ARRAY) {
+                            System.err.println("⚠️ Skipping " + shardFile + " (not an Extent JSON archive)");
+                            continue;
+                        }
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            JsonNode feature = mapper.readTree(parser);
+                            spillTests(out, feature.path("name").asText(), feature, shardName, seenNames);
+                        }
+                    }
+                }
+                for (Path streamedFile : streamedFiles) {
+                    spillStreamed(out, streamedFile, shardOf(streamedFile));
+                }
+            }
+
+            // scenario key → line number of its last run
+            Map<String, Long> last = new HashMap<>();
+            long position = 0;
+            try (BufferedReader reader = Files.newBufferedReader(spill, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    last.put(mapper.readTree(line).path("key").asText(), position++);
+                }
+            }
+            position = 0;
+            try (BufferedReader reader = Files.newBufferedReader(spill, StandardCharsets.UTF_8);
+                 BufferedWriter out = Files.newBufferedWriter(kept, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (last.get(mapper.readTree(line).path("key").asText()) == position++) {
+                        out.write(line);
+                        out.newLine();
+                    }
+                }
+            }
+
+            StreamingReportWriter.render(kept.toFile(), outputDir.resolve("ExtentReport.html").toFile());
+        } finally {
+            Files.deleteIfExists(spill);
+            Files.deleteIfExists(kept);
+        }
+    }
+
+    /**
+     * Copies a streaming shard's result lines, adding the key (name plus how often that name
+     * was already seen in the file: these lines carry no uri:line) and the shard as thread.
+     */
+    private static void spillStreamed(BufferedWriter out, Path resultsFile, String shardName) throws IOException {
+        Map<String, Integer> seenNames = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(resultsFile, StandardCharsets.UTF_8)) {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                if (text.isBlank()) continue;
+                ObjectNode line = (ObjectNode) mapper.readTree(text);
+                String name = line.path("name").asText();
+                line.put("key", name + "#" + seenNames.merge(name, 1, Integer::sum));
+                line.put("thread", shardName);
+                out.write(mapper.writeValueAsString(line));
+                out.newLine();
+            }
+        }
+    }
+
+    /**
+     * Writes one result line per scenario under 'test' (a scenario is a test whose children
+     * are steps, i.e. have no children themselves); scenario outlines are walked through.
+     * Archives written without a scenario key fall back to the name plus how often that
+     * name was already seen in the same archive.
+     */
+    private static void spillTests(BufferedWriter out, String path, JsonNode test, String shardName,
+                                   Map<String, Integer> seenNames) throws IOException {
+        JsonNode children = test.path("children");
+        if (children.size() == 0) {
+            return;   // a feature without scenarios
+        }
+        for (JsonNode child : children) {
+            if (child.path("children").size() > 0) {
+                for (JsonNode inner : children) {
+                    spillTests(out, path + " › " + inner.path("name").asText(), inner, shardName, seenNames);
+                }
+                return;
+            }
+        }
+
+        int maxLogs = ConfigReader.getIntProperty("report.max.logs.per.test");
+        List<Map<String, String>> logs = new ArrayList<>();
+        int dropped = 0;
+        for (JsonNode step : children) {
+            List<Map<String, String>> stepLogs = new ArrayList<>();
+            stepLogs.add(Map.of("status", step.path("status").asText(), "message", step.path("name").asText()));
+            for (JsonNode log : step.path("logs")) {
+                stepLogs.add(Map.of("status", log.path("status").asText(), "message", log.path("details").asText()));
+            }
+            for (Map<String, String> log : stepLogs) {
+                if (logs.size() < maxLogs) {
+                    logs.add(log);
+                } else {
+                    dropped++;
+                }
+            }
+        }
+
+        long start = millisOf(test.path("startTime"));
+        long end = millisOf(test.path("endTime"));
+        String key = test.path("infoMap").path(ExtentAdapterPlugin.SCENARIO_KEY).asText("");
+        if (key.isEmpty()) {
+            key = path + "#" + seenNames.merge(path, 1, Integer::sum);
+        }
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("key", key);
+        line.put("name", path);
+        line.put("status", test.path("status").asText());
+        line.put("start", start);
+        line.put("durationMs", start > 0 && end >= start ? end - start : 0);
+        line.put("thread", shardName);
+        line.put("logs", logs);
+        line.put("droppedLogs", dropped);
+        out.write(mapper.writeValueAsString(line));
+        out.newLine();
+    }
+
+    // Extent archives hold dates in Gson's default format: DateFormat DEFAULT/DEFAULT, US locale
+    private static long millisOf(JsonNode date) {
+        if (!date.isTextual()) {
+            return 0;
+        }
+        try {
+            Date parsed = DateFormat.getDateTimeInstance(DateFormat.DEFAULT, DateFormat.DEFAULT, Locale.US)
+                    .parse(date.asText());
+            return parsed.getTime();
+        } catch (ParseException e) {
+            return 0;
+        }
+    }
+
+    private static final class FeatureParts {
+        private final ObjectNode header;
+        private final List<Path> spills = new ArrayList<>();
+
+        private FeatureParts(ObjectNode header) {
+            this.header = header;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package reporting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import config.ConfigReader;
+import execution.Shard;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * StepTimingPlugin
+ * -------------------
+ * Purpose:
+ * A Cucumber plugin that measures how long every step definition and hook takes.
+ *
+ * What it does:
+ *  - Records each step/hook duration into a LatencyHistogram (one per step definition)
+ *  - At the end of the run, writes count / p50 / p90 / p99 / max (ms) to a JSON file
+ *  - Compares p90 with the previous run's file and prints steps that got slower
+ *    than 'step.timing.regression.threshold' (e.g. 0.2 = 20%)
+ *
+ * Registered in TestRunner:
+ *   "reporting.StepTimingPlugin:test-output/step-timings.json"
+ *
+ * The baseline is the previous content of the output file, or
+ * 'step.timing.baseline' when that is set. With 'shard' set, the file goes to the shard's folder.
+ */
+public class StepTimingPlugin implements ConcurrentEventListener {
+
+    private static final Logger log = LogManager.getLogger(StepTimingPlugin.class);
+
+    private final File outputFile;
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public StepTimingPlugin(File outputFile) {
+        this.outputFile = Shard.current().resolve(outputFile);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onRunFinished());
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        histograms.computeIfAbsent(keyOf(event.getTestStep()), k -> new LatencyHistogram())
+                .record(event.getResult().getDuration().toNanos());
+    }
+
+    /**
+     * Step definitions are grouped by their expression, hooks by type and method.
+     */
+    private static String keyOf(TestStep step) {
+        if (step instanceof PickleStepTestStep pickleStep) {
+            return pickleStep.getPattern();
+        }
+        if (step instanceof HookTestStep hookStep) {
+            return "hook:" + hookStep.getHookType() + " " + hookStep.getCodeLocation();
+        }
+        return step.getCodeLocation();
+    }
+
+    private void onRunFinished() {
+        JsonNode baseline = readBaseline();
+
+        Map<String, Map<String, Object>> steps = new TreeMap<>();
+        histograms.forEach((key, histogram) -> {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", histogram.getCount());
+            summary.put("p50", histogram.percentileMillis(0.50));
+            summary.put("p90", histogram.percentileMillis(0.90));
+            summary.put("p99", histogram.percentileMillis(0.99));
+            summary.put("max", histogram.getMaxMillis());
+            steps.put(key, summary);
+        });
+
+        printSummary(steps);
+        if (baseline != null) {
+            printRegressions(steps, baseline);
+        }
+
+        try {
+            File parent = outputFile.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists()) parent.mkdirs();
+            mapper.writeValue(outputFile, Map.of("unit", "ms", "steps", steps));
+            log.info("⏱️ Step timings saved at: {}", outputFile.getAbsolutePath());
+        } catch (IOException e) {
+            log.warn("⚠️ Could not write step timings: {}", e.getMessage());
+        }
+    }
+
+    private JsonNode readBaseline() {
+        String configured = ConfigReader.getProperty("step.timing.baseline");
+        File baselineFile = configured == null || configured.isBlank() ? outputFile : new File(configured);
+        if (!baselineFile.isFile()) {
+            return null;
+        }
+        try {
+            return mapper.readTree(baselineFile).path("steps");
+        } catch (IOException e) {
+            log.warn("⚠️ Could not read step timing baseline: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void printSummary(Map<String, Map<String, Object>> steps) {
+        log.info("⏱️ Step timings (count | p50 | p90 | p99 | max ms | step)");
+        steps.forEach((key, s) -> log.printf(Level.INFO, "   %5d | %8.1f | %8.1f | %8.1f | %8.1f | %s",
+                (Long) s.get("count"), (Double) s.get("p50"), (Double) s.get("p90"),
+                (Double) s.get("p99"), (Double) s.get("max"), key));
+    }
+
+    private static void printRegressions(Map<String, Map<String, Object>> steps, JsonNode baseline) {
+        String thresholdValue = ConfigReader.getProperty("step.timing.regression.threshold");
+        double threshold = thresholdValue == null || thresholdValue.isBlank() ? 0.2 : Double.parseDouble(thresholdValue);
+
+        steps.forEach((key, s) -> {
+            JsonNode previous = baseline.get(key);
+            if (previous == null || previous.path("p90").asDouble() <= 0) {
+                return;
+            }
+            double before = previous.path("p90").asDouble();
+            double now = (Double) s.get("p90");
+            if (now > before * (1 + threshold)) {
+                log.printf(Level.WARN, "🐢 Slower than last run: '%s' p90 %.1f → %.1f ms (+%.0f%%)",
+                        key, before, now, (now / before - 1) * 100);
+            }
+        });
+    }
+}
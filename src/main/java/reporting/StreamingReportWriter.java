@@ -0,0 +1,230 @@
+package reporting;
+
+import com.aventstack.extentreports.Status;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import config.ConfigReader;
+import execution.Shard;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * StreamingReportWriter
+ * -----------------------
+ * Purpose:
+ * A report mode for very large runs that keeps memory flat.
+ *
+ * How it works:
+ *  - Only the tests that are currently running are kept in memory (one per thread)
+ *  - When a test ends, it is appended as ONE JSON line to the results file and forgotten
+ *  - Logs per test are capped ('report.max.logs.per.test'); past the cap only FAIL
+ *    entries (the failing step, screenshot and flight record links) are still kept
+ *  - render() reads the results file line by line (twice: counts, then rows)
+ *    and writes the HTML report without loading all results at once
+ *
+ * Used by ExtentManager when 'report.streaming = true'.
+ */
+public class StreamingReportWriter {
+
+    private static final Logger log = LogManager.getLogger(StreamingReportWriter.class);
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    // The test running on the current thread
+    private static final ThreadLocal<TestRecord> current = new ThreadLocal<>();
+
+    private static BufferedWriter resultsWriter;
+
+    private StreamingReportWriter() {
+    }
+
+    public static void startTest(String name) {
+        current.set(new TestRecord(name));
+    }
+
+    public static void log(Status status, String message) {
+        TestRecord record = current.get();
+        if (record == null) {
+            return;
+        }
+        if (record.logs.size() < ConfigReader.getIntProperty("report.max.logs.per.test") || status == Status.FAIL) {
+            record.logs.add(Map.of("status", status.toString(), "message", String.valueOf(message)));
+        } else {
+            record.droppedLogs++;
+        }
+    }
+
+    /**
+     * Writes the current thread's test to the results file and forgets it.
+     */
+    public static void endTest(Status status) {
+        TestRecord record = current.get();
+        current.remove();
+        if (record == null) {
+            return;
+        }
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("name", record.name);
+        line.put("status", status.toString());
+        line.put("start", record.startMillis);
+        line.put("durationMs", System.currentTimeMillis() - record.startMillis);
+        line.put("thread", Thread.currentThread().getName());
+        line.put("logs", record.logs);
+        line.put("droppedLogs", record.droppedLogs);
+
+        synchronized (StreamingReportWriter.class) {
+            try {
+                if (resultsWriter == null) {
+                    File file = resultsFile();
+                    file.getAbsoluteFile().getParentFile().mkdirs();
+                    resultsWriter = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+                }
+                resultsWriter.write(mapper.writeValueAsString(line));
+                resultsWriter.newLine();
+                resultsWriter.flush();
+            } catch (IOException e) {
+                log.warn("⚠️ Could not stream test result: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * render()
+     * ----------
+     * Closes the results file and turns it into the HTML report.
+     */
+    public static synchronized void render() {
+        try {
+            if (resultsWriter != null) {
+                resultsWriter.close();
+                resultsWriter = null;
+            }
+
+            File results = resultsFile();
+            if (!results.isFile()) {
+                return;
+            }
+            File html = Shard.current().resolve(new File(ConfigReader.getProperty("report.streaming.html")));
+            render(results, html);
+            log.info("🧾 Streaming report saved at: {}", html.getAbsolutePath());
+        } catch (IOException e) {
+            log.warn("⚠️ Could not render streaming report: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Turns a results file (one test per JSON line) into the HTML report, line by line.
+     * Also used by ReportMerger for the merged Extent report.
+     */
+    public static void render(File results, File html) throws IOException {
+        // Pass 1: totals for the summary at the top
+        Map<Status, Integer> totals = new EnumMap<>(Status.class);
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(results.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                Status status = parseStatus(mapper.readTree(line).path("status").asText());
+                totals.merge(status, 1, Integer::sum);
+                count++;
+            }
+        }
+
+        // Pass 2: one table row per test, written as we read
+        html.getAbsoluteFile().getParentFile().mkdirs();
+        try (BufferedReader reader = Files.newBufferedReader(results.toPath(), StandardCharsets.UTF_8);
+             BufferedWriter out = Files.newBufferedWriter(html.toPath(), StandardCharsets.UTF_8)) {
+
+            writeHeader(out, count, totals);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) writeRow(out, mapper.readTree(line));
+            }
+            out.write("</tbody></table></body></html>\n");
+        }
+    }
+
+    private static void writeHeader(BufferedWriter out, int count, Map<Status, Integer> totals) throws IOException {
+        out.write("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>OrangeHRM Automation Report</title>"
+                + "<style>body{font-family:'Segoe UI',sans-serif;margin:20px}table{border-collapse:collapse;width:100%}"
+                + "td,th{border:1px solid #ddd;padding:6px;vertical-align:top}.pass{color:#2e7d32}.fail{color:#c62828}"
+                + ".skip{color:#f9a825}details{font-size:12px}</style></head><body>\n");
+        out.write("<h2>Selenium Cucumber Test Execution</h2><p>Total: " + count);
+        for (Map.Entry<Status, Integer> entry : totals.entrySet()) {
+            out.write(" | " + entry.getKey() + ": " + entry.getValue());
+        }
+        out.write("</p>\n<table><thead><tr><th>Test</th><th>Status</th><th>Duration (ms)</th><th>Thread</th><th>Logs</th></tr></thead><tbody>\n");
+    }
+
+    private static void writeRow(BufferedWriter out, JsonNode test) throws IOException {
+        Status status = parseStatus(test.path("status").asText());
+        out.write("<tr><td>" + escape(test.path("name").asText())
+                + "</td><td class=\"" + cssClass(status) + "\">" + status
+                + "</td><td>" + test.path("durationMs").asLong()
+                + "</td><td>" + escape(test.path("thread").asText()) + "</td><td>");
+
+        JsonNode logs = test.path("logs");
+        if (logs.size() > 0) {
+            out.write("<details><summary>" + logs.size() + " log(s)</summary>");
+            for (JsonNode log : logs) {
+                out.write("<div>[" + escape(log.path("status").asText()) + "] " + escape(log.path("message").asText()) + "</div>");
+            }
+            int dropped = test.path("droppedLogs").asInt();
+            if (dropped > 0) {
+                out.write("<div>… " + dropped + " more log(s) not kept</div>");
+            }
+            out.write("</details>");
+        }
+        out.write("</td></tr>\n");
+    }
+
+    private static Status parseStatus(String text) {
+        for (Status status : Status.values()) {
+            if (status.toString().equalsIgnoreCase(text) || status.name().equalsIgnoreCase(text)) {
+                return status;
+            }
+        }
+        return Status.INFO;
+    }
+
+    private static String cssClass(Status status) {
+        return switch (status) {
+            case PASS -> "pass";
+            case FAIL -> "fail";
+            case SKIP, WARNING -> "skip";
+            default -> "";
+        };
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static File resultsFile() {
+        return Shard.current().resolve(new File(ConfigReader.getProperty("report.streaming.results")));
+    }
+
+    private static final class TestRecord {
+        private final String name;
+        private final long startMillis = System.currentTimeMillis();
+        private final List<Map<String, String>> logs = new ArrayList<>();
+        private int droppedLogs;
+
+        private TestRecord(String name) {
+            this.name = name;
+        }
+    }
+}
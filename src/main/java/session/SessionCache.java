@@ -0,0 +1,149 @@
+package session;
+
+import base.PageReadiness;
+import config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import pages.DashboardPage;
+import pages.LoginPage;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SessionCache
+ * ---------------
+ * Purpose:
+ * Lets scenarios that are NOT about login start already logged in,
+ * without typing credentials and waiting for the dashboard every time.
+ *
+ * How it works:
+ *  - The first scenario for a role logs in through the UI (LoginPage)
+ *    and, once DashboardPage is shown, captures a SessionSnapshot
+ *  - Later scenarios for the same role get that snapshot injected
+ *    into their (fresh or pooled) browser
+ *  - If the app rejects the injected session (dashboard not shown),
+ *    the snapshot is dropped and a new UI login refreshes it
+ *
+ * Credentials per role (config.properties):
+ *  role.<Role>.username / role.<Role>.password
+ *  'Admin' falls back to the global username / password.
+ *
+ * Used from Hooks through the @authenticated(Role) scenario tag.
+ */
+public class SessionCache {
+
+    private static final Logger log = LogManager.getLogger(SessionCache.class);
+
+    // role → captured logged-in state
+    private static final Map<String, SessionSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    // role → lock, so only one scenario per role logs in through the UI at a time
+    private static final Map<String, Object> loginLocks = new ConcurrentHashMap<>();
+
+    private SessionCache() {
+    }
+
+    /**
+     * authenticate()
+     * ----------------
+     * Leaves the given browser logged in as 'role' on the Dashboard page.
+     * Reuses the cached session when possible, otherwise logs in through the UI.
+     */
+    public static void authenticate(WebDriver driver, String role) {
+        SessionSnapshot snapshot = snapshots.get(role);
+        if (snapshot != null) {
+            if (restore(driver, snapshot)) {
+                log.info("🔑 Reused cached session for role: {}", role);
+                return;
+            }
+            invalidate(role, snapshot);
+        }
+
+        synchronized (loginLocks.computeIfAbsent(role, r -> new Object())) {
+            // Another scenario may have logged in while we were waiting
+            SessionSnapshot fresh = snapshots.get(role);
+            if (fresh != null && fresh != snapshot && restore(driver, fresh)) {
+                log.info("🔑 Reused cached session for role: {}", role);
+                return;
+            }
+
+            loginThroughUi(driver, role);
+            snapshots.put(role, SessionSnapshot.capture(driver));
+            log.info("🔑 Logged in and cached session for role: {}", role);
+        }
+    }
+
+    /**
+     * invalidate()
+     * --------------
+     * Forgets the cached session of a role (e.g. after logout or password change).
+     */
+    public static void invalidate(String role) {
+        if (snapshots.remove(role) != null) {
+            log.info("🗑️ Session for role '{}' invalidated", role);
+        }
+    }
+
+    private static void invalidate(String role, SessionSnapshot rejected) {
+        if (snapshots.remove(role, rejected)) {
+            log.info("🗑️ Cached session for role '{}' was rejected → logging in again", role);
+        }
+    }
+
+    /**
+     * Injects a snapshot and checks that the app accepts it.
+     */
+    private static boolean restore(WebDriver driver, SessionSnapshot snapshot) {
+        String baseUrl = ConfigReader.getProperty("base.url");
+        try {
+            // Cookies can only be added while on the app's domain
+            driver.get(baseUrl);
+            snapshot.applyTo(driver);
+            driver.get(baseUrl);
+            PageReadiness.await(driver);
+            return new DashboardPage(driver).isDashboardDisplayed();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void loginThroughUi(WebDriver driver, String role) {
+        driver.manage().deleteAllCookies();
+        driver.get(ConfigReader.getProperty("base.url"));
+        PageReadiness.await(driver);
+
+        new LoginPage(driver).login(usernameFor(role), passwordFor(role));
+
+        if (!new DashboardPage(driver).isDashboardDisplayed()) {
+            throw new RuntimeException("Login through the UI failed for role: " + role);
+        }
+    }
+
+    /**
+     * Username of a role (also used by the API client to log in).
+     */
+    public static String usernameFor(String role) {
+        return credential(role, "username");
+    }
+
+    public static String passwordFor(String role) {
+        return credential(role, "password");
+    }
+
+    private static String credential(String role, String field) {
+        String value = ConfigReader.getProperty("role." + role + "." + field);
+        if (value == null) {
+            // Set through an environment variable (ORANGEHRM_ROLE_HR_USERNAME → role.hr.username)
+            value = ConfigReader.getProperty("role." + role.toLowerCase() + "." + field);
+        }
+        if (value == null && "Admin".equals(role)) {
+            value = ConfigReader.getProperty(field);
+        }
+        if (value == null) {
+            throw new RuntimeException("No role." + role + "." + field + " in config.properties");
+        }
+        return value;
+    }
+}
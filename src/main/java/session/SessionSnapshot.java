@@ -0,0 +1,89 @@
+package session;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SessionSnapshot
+ * -----------------
+ * Purpose:
+ * Holds everything the browser needs to "be logged in":
+ *  - cookies
+ *  - localStorage and sessionStorage entries
+ *
+ * It is captured once after a real login and copied into other browsers later.
+ * Instances are immutable so they can be shared safely between parallel scenarios.
+ */
+public final class SessionSnapshot {
+
+    private static final Logger log = LogManager.getLogger(SessionSnapshot.class);
+
+    private static final String READ_STORAGE =
+            "var read = function (s) { var o = {}; for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); } return o; };"
+                    + " return { local: read(window.localStorage), session: read(window.sessionStorage) };";
+
+    private static final String WRITE_STORAGE =
+            "var local = arguments[0], session = arguments[1];"
+                    + " for (var k in local) { window.localStorage.setItem(k, local[k]); }"
+                    + " for (var k in session) { window.sessionStorage.setItem(k, session[k]); }";
+
+    private final Set<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+
+    private SessionSnapshot(Set<Cookie> cookies, Map<String, String> localStorage, Map<String, String> sessionStorage) {
+        this.cookies = Set.copyOf(cookies);
+        this.localStorage = Map.copyOf(localStorage);
+        this.sessionStorage = Map.copyOf(sessionStorage);
+    }
+
+    /**
+     * capture()
+     * -----------
+     * Reads cookies and storage from a browser that is already logged in.
+     */
+    @SuppressWarnings("unchecked")
+    public static SessionSnapshot capture(WebDriver driver) {
+        Set<Cookie> cookies = new HashSet<>(driver.manage().getCookies());
+
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE);
+        return new SessionSnapshot(cookies,
+                toStringMap((Map<String, Object>) storage.get("local")),
+                toStringMap((Map<String, Object>) storage.get("session")));
+    }
+
+    /**
+     * applyTo()
+     * -----------
+     * Copies cookies and storage into a browser.
+     * The browser must already be on the application's domain (e.g. the base URL),
+     * otherwise the browser refuses the cookies.
+     */
+    public void applyTo(WebDriver driver) {
+        for (Cookie cookie : cookies) {
+            try {
+                driver.manage().addCookie(cookie);
+            } catch (RuntimeException e) {
+                // A cookie for another domain/path is not needed for the app session
+                log.warn("⚠️ Skipped cookie '{}': {}", cookie.getName(), e.getMessage());
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE, new HashMap<>(localStorage), new HashMap<>(sessionStorage));
+    }
+
+    private static Map<String, String> toStringMap(Map<String, Object> values) {
+        Map<String, String> result = new HashMap<>();
+        if (values != null) {
+            values.forEach((key, value) -> result.put(key, String.valueOf(value)));
+        }
+        return result;
+    }
+}
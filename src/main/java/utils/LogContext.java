@@ -0,0 +1,76 @@
+package utils;
+
+import config.ConfigReader;
+import org.apache.logging.log4j.ThreadContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LogContext
+ * ------------
+ * Purpose:
+ * Tags every log line with what the current thread is working on, so the lines of
+ * parallel scenarios can be told apart (and filtered) in logs/execution.jsonl:
+ *  - scenario → scenario name
+ *  - worker   → short id of the thread running it (w1, w2 ...)
+ *  - session  → WebDriver session id of the browser it uses
+ *
+ * With 'log.scenario.files = true' each scenario's lines also go to their own
+ * file in logs/scenarios/ (see log4j2.xml, ScenarioFiles).
+ *
+ * Set by Hooks (scenario) and DriverManager (session); the values live in log4j2's ThreadContext.
+ */
+public class LogContext {
+
+    private static final AtomicInteger workers = new AtomicInteger();
+    private static final ThreadLocal<String> workerId = ThreadLocal.withInitial(() -> "w" + workers.incrementAndGet());
+
+    private LogContext() {
+    }
+
+    /**
+     * Marks the start of a scenario on this thread.
+     *
+     * @param featureUri used with the line to give same-named scenarios their own log file
+     */
+    public static void startScenario(String name, String featureUri, int line) {
+        ThreadContext.put("scenario", name);
+        ThreadContext.put("worker", workerId.get());
+        if (ConfigReader.getBooleanProperty("log.scenario.files")) {
+            String feature = featureUri.substring(featureUri.lastIndexOf('/') + 1).replace(".feature", "");
+            ThreadContext.put("scenarioFile", safe(feature + "-" + line + "-" + name));
+        }
+    }
+
+    /**
+     * Adds the browser's session id, once the scenario has a browser.
+     */
+    public static void bindSession(WebDriver driver) {
+        WebDriver raw = driver;
+        while (raw instanceof WrapsDriver wrapper) {
+            raw = wrapper.getWrappedDriver();
+        }
+        if (raw instanceof RemoteWebDriver remote && remote.getSessionId() != null) {
+            ThreadContext.put("session", remote.getSessionId().toString());
+        }
+    }
+
+    public static void clearSession() {
+        ThreadContext.remove("session");
+    }
+
+    /**
+     * Forgets everything about the finished scenario.
+     */
+    public static void endScenario() {
+        ThreadContext.clearMap();
+    }
+
+    private static String safe(String text) {
+        String name = text.replaceAll("[^A-Za-z0-9._-]+", "_");
+        return name.length() > 120 ? name.substring(0, 120) : name;
+    }
+}
@@ -0,0 +1,226 @@
+package utils;
+
+import config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScreenshotWriter
+ * -------------------
+ * Purpose:
+ * Saves screenshots in the background so scenario teardown doesn't wait for
+ * image decoding, scaling, encoding and disk writes.
+ *
+ * How it works:
+ *  - The caller captures the screenshot ONCE (as PNG bytes) and calls save()
+ *  - save() returns the final file path right away; the work runs on a small
+ *    background thread pool
+ *  - The queue is bounded: when it is full, the caller does the work itself
+ *    (back-pressure instead of unbounded memory growth)
+ *  - flush() waits for all pending writes; TestRunner calls it at suite end
+ *  - To also embed the screenshot in the report, encode() it first (on the calling
+ *    thread, the report needs the bytes now) and saveEncoded() those same bytes
+ *
+ * Settings (config.properties):
+ *  screenshot.format (png / jpg), screenshot.quality (0.0 - 1.0, jpg only),
+ *  screenshot.scale (e.g. 0.5 = half size), screenshot.writer.threads, screenshot.queue.size
+ */
+public class ScreenshotWriter {
+
+    private static final Logger log = LogManager.getLogger(ScreenshotWriter.class);
+
+    private static ThreadPoolExecutor executor;
+
+    private ScreenshotWriter() {
+    }
+
+    /**
+     * save()
+     * --------
+     * Queues the screenshot to be written as 'directory/baseName.<format>'
+     * and returns that file immediately.
+     */
+    public static File save(byte[] png, File directory, String baseName) {
+        File destination = new File(directory, baseName + "." + format());
+        getExecutor().execute(() -> write(png, destination));
+        return destination;
+    }
+
+    /**
+     * encode()
+     * ----------
+     * Scales and encodes the PNG per config.properties and returns the bytes that
+     * save() would write (the PNG itself when nothing changes). Runs on the calling thread.
+     */
+    public static byte[] encode(byte[] png) {
+        double scale = Double.parseDouble(ConfigReader.getProperty("screenshot.scale"));
+
+        // Untouched PNG → no need to decode/encode at all
+        if ("png".equals(format()) && scale >= 1.0) {
+            return png;
+        }
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            return encode(scaleDown(image, scale));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not encode screenshot as " + format() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * saveEncoded()
+     * ---------------
+     * Queues bytes from encode() to be written as 'directory/baseName.<format>'
+     * and returns that file immediately.
+     */
+    public static File saveEncoded(byte[] encoded, File directory, String baseName) {
+        File destination = new File(directory, baseName + "." + format());
+        getExecutor().execute(() -> writeFile(encoded, destination));
+        return destination;
+    }
+
+    /**
+     * Returns the MIME type of the bytes encode() produces, for report attachments.
+     */
+    public static String mimeType() {
+        String format = format();
+        return "jpg".equals(format) || "jpeg".equals(format) ? "image/jpeg" : "image/" + format;
+    }
+
+    /**
+     * writeNow()
+     * ------------
+     * Same as save(), but does the work on the calling thread and returns
+     * once the file is written (used by the benchmarks module).
+     */
+    public static File writeNow(byte[] png, File directory, String baseName) {
+        File destination = new File(directory, baseName + "." + format());
+        write(png, destination);
+        return destination;
+    }
+
+    /**
+     * flush()
+     * ---------
+     * Waits until every queued screenshot has been written.
+     */
+    public static void flush() {
+        ThreadPoolExecutor pending;
+        synchronized (ScreenshotWriter.class) {
+            pending = executor;
+            executor = null;
+        }
+        if (pending == null) {
+            return;
+        }
+
+        pending.shutdown();
+        try {
+            if (!pending.awaitTermination(60, TimeUnit.SECONDS)) {
+                log.warn("⚠️ Some screenshots were still being written after 60 s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the file extension / image format used for screenshots.
+     */
+    public static String format() {
+        String format = ConfigReader.getProperty("screenshot.format");
+        return format == null || format.isBlank() ? "png" : format.trim().toLowerCase();
+    }
+
+    private static synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            int threads = Math.max(1, ConfigReader.getIntProperty("screenshot.writer.threads"));
+            int queueSize = Math.max(1, ConfigReader.getIntProperty("screenshot.queue.size"));
+
+            executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueSize),
+                    r -> {
+                        Thread thread = new Thread(r, "screenshot-writer");
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        return executor;
+    }
+
+    private static void write(byte[] png, File destination) {
+        try {
+            writeFile(encode(png), destination);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Failed to save screenshot {}: {}", destination, e.getMessage());
+        }
+    }
+
+    private static void writeFile(byte[] encoded, File destination) {
+        try {
+            File directory = destination.getParentFile();
+            if (directory != null && !directory.exists()) directory.mkdirs();
+            Files.write(destination.toPath(), encoded);
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ Failed to save screenshot {}: {}", destination, e.getMessage());
+        }
+    }
+
+    private static BufferedImage scaleDown(BufferedImage image, double scale) {
+        boolean keepAlpha = "png".equals(format());
+        if (scale >= 1.0 && keepAlpha) {
+            return image;
+        }
+
+        double factor = Math.min(scale, 1.0);
+        int width = Math.max(1, (int) (image.getWidth() * factor));
+        int height = Math.max(1, (int) (image.getHeight() * factor));
+
+        // JPEG can't store transparency, so draw onto an RGB canvas
+        BufferedImage scaled = new BufferedImage(width, height,
+                keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format()).next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed() && !"png".equals(format())) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(Float.parseFloat(ConfigReader.getProperty("screenshot.quality")));
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
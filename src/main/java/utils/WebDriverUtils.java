@@ -1,9 +1,7 @@
 package utils;
 
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.*;
 import java.io.File;
-import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
@@ -19,19 +17,14 @@ public class WebDriverUtils {
     /**
      * Take screenshot and save it to 'screenshots' folder.
      * Returns the file path of the screenshot.
+     * The file is written in the background by ScreenshotWriter.
      */
     public static String takeScreenshot(WebDriver driver, String testName) {
         String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-        String destination = System.getProperty("user.dir") + "/screenshots/" + testName + "_" + timestamp + ".png";
+        File directory = new File(System.getProperty("user.dir") + "/screenshots/");
 
-        File srcFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-        try {
-            FileUtils.copyFile(srcFile, new File(destination));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        return destination;
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        return ScreenshotWriter.save(png, directory, testName + "_" + timestamp).getAbsolutePath();
     }
 
     /**
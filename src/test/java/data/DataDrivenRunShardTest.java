@@ -0,0 +1,104 @@
+package data;
+
+import config.ConfigReader;
+import execution.ScenarioScheduler;
+import execution.Shard;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * DataDrivenRunShardTest
+ * ------------------------
+ * Splits a small CSV across 2 shards the way TestRunner does (ScenarioScheduler.shard,
+ * then DataDrivenRun.forEachRow in every shard that kept the scenario) and checks that
+ * together the shards ran every row exactly once. No browser needed (one worker).
+ */
+public class DataDrivenRunShardTest {
+
+    private static final int ROWS = 7;
+    private static final String DATASET = "shard-rows.csv";
+
+    private Path dir;
+
+    // settings changed here, restored afterwards (other tests may run in the same JVM)
+    private final Map<String, String> previous = new LinkedHashMap<>();
+
+    @BeforeClass
+    public void writeDataset() throws IOException {
+        dir = Files.createTempDirectory("dataset-shard");
+        List<String> lines = new ArrayList<>();
+        lines.add("username,expected");
+        for (int i = 1; i <= ROWS; i++) {
+            lines.add("user" + i + ",ok");
+        }
+        Files.write(dir.resolve(DATASET), lines, StandardCharsets.UTF_8);
+
+        set("dataset.dir", dir.toString());
+        set("dataset.results.dir", dir.resolve("results").toString());
+        set("dataset.workers", "1");
+        set("shard.timings.file", "");
+        set("shard", "");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreConfig() {
+        previous.forEach((key, value) -> ConfigReader.setProperty(key, value == null ? "" : value));
+    }
+
+    private void set(String key, String value) {
+        previous.put(key, ConfigReader.getProperty(key));
+        ConfigReader.setProperty(key, value);
+    }
+
+    @Test
+    public void twoShardsRunEveryRowOnce() {
+        // one @dataset scenario among plain ones, as TestRunner's data provider rows
+        Object[][] scenarios = {
+                {"plain.feature:3", false},
+                {"dataset.feature:5", true},
+                {"plain.feature:9", false}
+        };
+
+        List<Long> ran = new ArrayList<>();
+        for (int index = 1; index <= 2; index++) {
+            ConfigReader.setProperty("shard", index + "/2");
+            Object[][] kept = ScenarioScheduler.shard(scenarios, row -> (String) row[0], row -> (Boolean) row[1], Shard.current());
+
+            boolean datasetKept = false;
+            for (Object[] row : kept) {
+                if ((Boolean) row[1]) {
+                    datasetKept = true;
+                    DataDrivenRun.select(DATASET);
+                    DataDrivenRun.forEachRow("shard " + index, dataRow -> {
+                        synchronized (ran) {
+                            ran.add(dataRow.index());
+                        }
+                    });
+                    DataDrivenRun.finish();
+                }
+            }
+            assertTrue(datasetKept, "shard " + index + "/2 dropped the @dataset scenario");
+        }
+
+        Set<Long> expected = LongStream.rangeClosed(1, ROWS).boxed().collect(Collectors.toCollection(TreeSet::new));
+        assertEquals(new TreeSet<>(ran), expected, "rows run by the two shards together");
+        assertEquals(ran.size(), ROWS, "a row ran in both shards");
+    }
+}
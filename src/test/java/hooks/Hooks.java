@@ -1,72 +1,211 @@
 package hooks;
 
+import api.TestData;
+import com.aventstack.extentreports.Status;
+import config.ConfigReader;
+import data.DataDrivenRun;
+import driver.CommandTracer;
 import driver.DriverManager;
+import driver.FlightRecorder;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
-import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
+import reporting.ExtentManager;
+import session.SessionCache;
+import utils.LogContext;
+import utils.ScreenshotWriter;
 
 import java.io.File;
-import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Hooks
  * -----
  * Purpose:
  * - Setup and teardown browser before/after each scenario
- * - Capture screenshots on test failure
+ * - Capture screenshots on test failure (once, saved in the background)
+ * - Attach the flight record of a failed scenario: last commands, DOM, console and network (FlightRecorder)
  * - Store screenshots in test-output/Screenshots/
  * - Attach screenshots to Cucumber & Extent Reports
+ * - Start @authenticated(Role) scenarios already logged in (SessionCache)
+ * - Create test data through the API for @seedEmployees(count) scenarios, and delete it afterwards
+ * - Run @dataset(file) scenarios once per dataset row and attach one summary of all rows (DataDrivenRun)
+ * - Tag every log line written during a scenario with its name, worker and browser session (LogContext)
  */
 public class Hooks {
 
+    private static final Logger log = LogManager.getLogger(Hooks.class);
+
+    // Matches tags like @authenticated(Admin)
+    private static final Pattern AUTHENTICATED_TAG = Pattern.compile("@authenticated\\((\\w+)\\)");
+
+    // Matches tags like @seedEmployees(3)
+    private static final Pattern SEED_EMPLOYEES_TAG = Pattern.compile("@seedEmployees\\((\\d+)\\)");
+
+    // Matches tags like @dataset(login-credentials.csv)
+    private static final Pattern DATASET_TAG = Pattern.compile("@dataset\\((.+)\\)");
+
+    /**
+     * Runs first: everything logged from here on carries the scenario's name and worker.
+     */
+    @Before(order = 0)
+    public void startLogContext(Scenario scenario) {
+        LogContext.startScenario(scenario.getName(), scenario.getUri().toString(), scenario.getLine());
+    }
+
+    /**
+     * Runs before setup() (lower order) so the API calls overlap with the browser launch.
+     * Seeds as the scenario's @authenticated(Role), or as 'api.seed.role' when it has none.
+     */
+    @Before(order = 5000)
+    public void seedData(Scenario scenario) {
+        for (String tag : scenario.getSourceTagNames()) {
+            Matcher matcher = SEED_EMPLOYEES_TAG.matcher(tag);
+            if (matcher.matches()) {
+                TestData.seedEmployees(seedRole(scenario), Integer.parseInt(matcher.group(1)));
+            }
+        }
+    }
+
+    private static String seedRole(Scenario scenario) {
+        for (String tag : scenario.getSourceTagNames()) {
+            Matcher matcher = AUTHENTICATED_TAG.matcher(tag);
+            if (matcher.matches()) {
+                return matcher.group(1);
+            }
+        }
+        return ConfigReader.getProperty("api.seed.role");
+    }
+
+    /**
+     * For scenarios tagged @dataset(file): the steps run their flow for every row of that file.
+     */
+    @Before(order = 5000)
+    public void selectDataset(Scenario scenario) {
+        for (String tag : scenario.getSourceTagNames()) {
+            Matcher matcher = DATASET_TAG.matcher(tag);
+            if (matcher.matches()) {
+                DataDrivenRun.select(matcher.group(1).trim());
+                return;
+            }
+        }
+    }
+
     @Before
-    public void setup() {
-        System.out.println("🚀 Launching browser and loading application...");
-        DriverManager.getDriver(); // Initializes WebDriver & opens URL
-        System.out.println("✅ Browser launched successfully!");
+    public void setup(Scenario scenario) {
+        CommandTracer.setScenario(scenario.getName());
+        if (ExtentManager.isStreaming()) {
+            ExtentManager.startTest(scenario.getName());
+        }
+        log.info("🚀 Launching browser and loading application...");
+        WebDriver driver = DriverManager.getDriver(); // Initializes WebDriver & opens URL
+        FlightRecorder.clear(driver); // a pooled browser still holds the previous scenario's commands
+        log.info("✅ Browser launched successfully!");
+    }
+
+    /**
+     * Runs after setup() (higher order). For scenarios tagged @authenticated(Role),
+     * puts the browser into a logged-in state from the session cache instead of the login UI.
+     */
+    @Before(order = 20000)
+    public void authenticate(Scenario scenario) {
+        for (String tag : scenario.getSourceTagNames()) {
+            Matcher matcher = AUTHENTICATED_TAG.matcher(tag);
+            if (matcher.matches()) {
+                SessionCache.authenticate(DriverManager.getDriver(), matcher.group(1));
+                return;
+            }
+        }
     }
 
     @After
     public void tearDown(Scenario scenario) {
         WebDriver driver = DriverManager.getDriver();
 
+        // One compact summary for all rows of a @dataset scenario (each row's result is in the CSV it names)
+        DataDrivenRun.Summary dataset = DataDrivenRun.finish();
+        if (dataset != null) {
+            scenario.attach(dataset.toString(), "text/plain", "Dataset results");
+        }
+
         try {
             if (scenario.isFailed() && driver != null) {
-                System.out.println("❌ Test failed → capturing screenshot...");
-
-                // Take screenshot as file
-                File srcFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-
                 // Generate timestamp for filename
                 String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+                String fileName = scenario.getName().replaceAll(" ", "_") + "_" + timestamp;
 
-                // Create folder if not exists
-                File destDir = new File("test-output/Screenshots/");
-                if (!destDir.exists()) destDir.mkdirs();
+                // Last commands, DOM, console and network in one zip (never throws)
+                File flightRecord = FlightRecorder.capture(driver, fileName);
+                if (flightRecord != null) {
+                    scenario.attach(flightRecord.getAbsoluteFile().toURI().toString(), "text/uri-list", "Flight record");
+                    ExtentManager.log(Status.FAIL, "Flight record: " + flightRecord.getAbsolutePath());
+                }
 
-                // Define final file path
-                String fileName = scenario.getName().replaceAll(" ", "_") + "_" + timestamp + ".png";
-                File destFile = new File(destDir, fileName);
+                log.warn("❌ Test failed → capturing screenshot...");
 
-                // Save screenshot file
-                FileUtils.copyFile(srcFile, destFile);
-
-                // Attach screenshot to Cucumber/Extent report
+                // Capture ONCE; the same bytes go to disk and to the report
                 byte[] screenshotBytes = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-                scenario.attach(screenshotBytes, "image/png", "Failed Step Screenshot");
 
-                System.out.println("📸 Screenshot saved → " + destFile.getAbsolutePath());
+                // Attach screenshot to Cucumber/Extent report: just a link to the file saved (scaled/encoded
+                // per config.properties) in the background, or the embedded image, encoded here once and saved as is
+                File screenshotDir = new File("test-output/Screenshots/");
+                File destFile;
+                if ("link".equalsIgnoreCase(ConfigReader.getProperty("screenshot.attach"))) {
+                    destFile = ScreenshotWriter.save(screenshotBytes, screenshotDir, fileName);
+                    scenario.attach(destFile.getAbsoluteFile().toURI().toString(), "text/uri-list", "Failed Step Screenshot");
+                } else {
+                    byte[] encoded = ScreenshotWriter.encode(screenshotBytes);
+                    destFile = ScreenshotWriter.saveEncoded(encoded, screenshotDir, fileName);
+                    scenario.attach(encoded, ScreenshotWriter.mimeType(), "Failed Step Screenshot");
+                }
+
+                ExtentManager.log(Status.FAIL, "Screenshot: " + destFile.getAbsolutePath());
+                log.info("📸 Screenshot queued → {}", destFile.getAbsolutePath());
             }
-        } catch (IOException e) {
-            System.err.println("⚠️ Failed to save screenshot: " + e.getMessage());
+        } catch (RuntimeException e) {
+            // WebDriverException while capturing, or the image could not be encoded
+            log.warn("⚠️ Failed to capture screenshot: {}", e.getMessage());
         } finally {
-            System.out.println("🧹 Closing browser session...");
+            if (ExtentManager.isStreaming()) {
+                ExtentManager.endTest(toExtentStatus(scenario));
+            }
+            log.info("🧹 Closing browser session...");
             DriverManager.quitDriver();
-            System.out.println("✅ Browser closed successfully!");
+            CommandTracer.clearScenario();
+            log.info("✅ Browser closed successfully!");
         }
     }
+
+    /**
+     * Runs after tearDown() (lower order): removes the data seeded for this scenario.
+     */
+    @After(order = 5000)
+    public void cleanUpData() {
+        TestData.cleanUp();
+    }
+
+    /**
+     * Runs last (lowest order): the next scenario on this thread starts with a clean log context.
+     */
+    @After(order = 0)
+    public void endLogContext() {
+        LogContext.endScenario();
+    }
+
+    /**
+     * Maps Cucumber's scenario status to the Extent report status.
+     */
+    private static Status toExtentStatus(Scenario scenario) {
+        return switch (scenario.getStatus()) {
+            case PASSED -> Status.PASS;
+            case FAILED, AMBIGUOUS, UNDEFINED -> Status.FAIL;
+            default -> Status.SKIP;
+        };
+    }
 }
@@ -0,0 +1,130 @@
+package reporting;
+
+import config.ConfigReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * ReportMergerTest
+ * ------------------
+ * Merges the Extent JSON archives of two shards, shaped like the ones the Cucumber adapter
+ * writes: a scenario outline whose examples all share one name, and one example that failed
+ * in shard 1 and was rerun (passed) in shard 2. Every example must keep its own row and the
+ * rerun must replace the failure. Shards run with 'report.streaming' leave a results file
+ * instead of an archive; their rows and logs (screenshot links) must be merged as well.
+ */
+public class ReportMergerTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String TIME = "Oct 18, 2026, 8:11:00 AM";
+
+    @Test
+    public void outlineExamplesAreKeptAndRetriesReplaced() throws IOException {
+        Path input = Files.createTempDirectory("merge-input");
+        Path output = input.resolve("merged");
+
+        ObjectNode outlineShard1 = test("Login as <user>", "PASS", null,
+                test("Login as <user>", "PASS", "features/Login.feature:12", step("PASS")),
+                test("Login as <user>", "FAIL", "features/Login.feature:13", step("FAIL")));
+        write(input.resolve("shard-1"), test("Login", "FAIL", null,
+                test("Logout", "PASS", "features/Login.feature:3", step("PASS")), outlineShard1));
+
+        ObjectNode outlineShard2 = test("Login as <user>", "PASS", null,
+                test("Login as <user>", "PASS", "features/Login.feature:13", step("PASS")));
+        write(input.resolve("shard-2"), test("Login", "PASS", null, outlineShard2));
+
+        ReportMerger.merge(input, output);
+
+        String html = Files.readString(output.resolve("ExtentReport.html"), StandardCharsets.UTF_8);
+        List<String> rows = Arrays.stream(html.split("\n")).filter(line -> line.startsWith("<tr><td>")).toList();
+        assertEquals(rows.size(), 3, "one row per scenario and outline example:\n" + String.join("\n", rows));
+        assertTrue(html.contains("Total: 3 | Pass: 3"), "the rerun example replaces its failure");
+        assertEquals(rows.stream().filter(row -> row.contains("shard-2")).count(), 1L,
+                "the rerun example comes from shard 2");
+    }
+
+    @Test
+    public void streamedShardsKeepTheirLogs() throws IOException {
+        Path input = Files.createTempDirectory("merge-streamed");
+        Path output = input.resolve("merged");
+
+        writeResults(input.resolve("shard-1"), result("Add employee", "FAIL",
+                log("FAIL", "When I save the employee → timeout"), log("FAIL", "Screenshot: shots/add.jpg")));
+        writeResults(input.resolve("shard-2"), result("Add employee", "PASS", log("PASS", "When I save the employee")));
+
+        ReportMerger.merge(input, output);
+
+        String html = Files.readString(output.resolve("ExtentReport.html"), StandardCharsets.UTF_8);
+        List<String> rows = Arrays.stream(html.split("\n")).filter(line -> line.startsWith("<tr><td>")).toList();
+        assertEquals(rows.size(), 1, "the rerun replaces the failure:\n" + String.join("\n", rows));
+        assertTrue(rows.get(0).contains("shard-2") && rows.get(0).contains("When I save the employee"),
+                "the kept row comes from shard 2 with its step log: " + rows.get(0));
+    }
+
+    private static void writeResults(Path shardDir, ObjectNode result) throws IOException {
+        Path reports = Files.createDirectories(shardDir.resolve("ExtentReports"));
+        String resultsName = Path.of(ConfigReader.getProperty("report.streaming.results")).getFileName().toString();
+        Files.writeString(reports.resolve(resultsName), mapper.writeValueAsString(result) + "\n", StandardCharsets.UTF_8);
+    }
+
+    private static ObjectNode result(String name, String status, ObjectNode... logs) {
+        ObjectNode result = mapper.createObjectNode()
+                .put("name", name)
+                .put("status", status)
+                .put("start", 0L)
+                .put("durationMs", 10L)
+                .put("thread", "TestNG-PoolService-0");
+        ArrayNode logNodes = result.putArray("logs");
+        for (ObjectNode log : logs) {
+            logNodes.add(log);
+        }
+        result.put("droppedLogs", 0);
+        return result;
+    }
+
+    private static ObjectNode log(String status, String message) {
+        return mapper.createObjectNode().put("status", status).put("message", message);
+    }
+
+    private static void write(Path shardDir, ObjectNode feature) throws IOException {
+        Files.createDirectories(shardDir);
+        ArrayNode archive = mapper.createArrayNode().add(feature);
+        mapper.writeValue(shardDir.resolve("ExtentReport.json").toFile(), archive);
+    }
+
+    private static ObjectNode test(String name, String status, String scenarioKey, ObjectNode... children) {
+        ObjectNode test = mapper.createObjectNode()
+                .put("startTime", TIME)
+                .put("endTime", TIME)
+                .put("status", status)
+                .put("name", name);
+        ObjectNode infoMap = test.putObject("infoMap");
+        if (scenarioKey != null) {
+            infoMap.put(ExtentAdapterPlugin.SCENARIO_KEY, scenarioKey);
+        }
+        ArrayNode childNodes = test.putArray("children");
+        for (ObjectNode child : children) {
+            childNodes.add(child);
+        }
+        test.putArray("logs");
+        return test;
+    }
+
+    private static ObjectNode step(String status) {
+        ObjectNode step = test("Given the login page", status, null);
+        step.withArray("logs").addObject().put("status", status).put("details", "step " + status.toLowerCase());
+        return step;
+    }
+}
@@ -1,18 +1,55 @@
 package runners;
 
+import base.ActionRetry;
+import base.CachingElementLocator;
+import base.PageReadiness;
+import base.WaitStats;
+import config.ConfigReader;
+import driver.CommandTracer;
+import driver.DriverPool;
+import driver.NetworkFilter;
+import execution.RerunManifest;
+import execution.ScenarioHistory;
+import execution.ScenarioRetry;
+import execution.ScenarioScheduler;
+import execution.Shard;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestContext;
 import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import reporting.ExtentManager;
+import stub.OrangeHrmStandInServer;
+import utils.ScreenshotWriter;
 
 import java.awt.*;
 import java.io.File;
 import java.io.IOException;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * TestRunner
  * ----------
  * - Runs Cucumber feature files with TestNG
- * - Generates Extent Reports
+ * - Runs scenarios in parallel (worker count from config.properties)
+ * - Starts the local OrangeHRM stand-in server when 'standin.enabled' is true
+ * - Pre-launches and shuts down the browser pool when 'pool.enabled' is true
+ * - Generates Extent Reports (the in-memory Extent adapter only when 'report.streaming' is off)
+ * - Records per-step timings (test-output/step-timings.json)
+ * - Records scenario durations/outcomes and runs the longest scenarios first
+ * - Runs only its share of the scenarios when 'shard' is set (e.g. -Dshard=2/5),
+ *   writing reports to test-output/shard-<n>/
+ * - Retries failed scenarios ('rerun.retries') and lists the ones still failing for a
+ *   later '-Drerun.mode=failed' run
  * - Opens HTML report automatically after execution
  */
 @CucumberOptions(
@@ -20,32 +57,216 @@ import java.io.IOException;
         glue = {"stepDefinitions", "hooks"},
         plugin = {
                 "pretty",
-                "html:test-output/CucumberReport.html",
-                "json:test-output/cucumber-report.json",
-                "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:"
+                "reporting.CucumberReportsPlugin",
+                "reporting.ExtentAdapterPlugin:",
+                "reporting.StepTimingPlugin:test-output/step-timings.json",
+                "execution.ScenarioHistoryPlugin"
         },
         monochrome = true,
         publish = true
 )
 public class TestRunner extends AbstractTestNGCucumberTests {
 
+    private static final Logger log = LogManager.getLogger(TestRunner.class);
+
+    private static final Shard shard = Shard.current();
+
+    private static OrangeHrmStandInServer standInServer;
+
+    private static int workerCount = 1;
+    private static long predictedSuiteMs;
+    private static long scenariosStartNanos;
+
+    static {
+        // The Extent adapter reads these when it starts, so they must be set before Cucumber runs
+        setIfAbsent("extent.reporter.spark.out", "test-output/ExtentReports/ExtentReport.html");
+        setIfAbsent("extent.reporter.json.out", "test-output/ExtentReports/ExtentReport.json");
+    }
+
+    private static void setIfAbsent(String key, String defaultPath) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, shard.resolve(new File(defaultPath)).getPath());
+        }
+    }
+
+    /**
+     * Starts the in-process OrangeHRM stand-in and points base.url at it,
+     * so the suite runs without the public demo site.
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void startStandInServer() throws IOException {
+        if (!ConfigReader.getBooleanProperty("standin.enabled")) {
+            return;
+        }
+
+        standInServer = new OrangeHrmStandInServer(
+                ConfigReader.getProperty("username"),
+                ConfigReader.getProperty("password"),
+                ConfigReader.getIntProperty("standin.latency.ms"),
+                ConfigReader.getIntProperty("standin.jitter.ms"));
+
+        String baseUrl = standInServer.start(ConfigReader.getIntProperty("standin.port"));
+        ConfigReader.setProperty("base.url", baseUrl);
+        log.info("🧪 OrangeHRM stand-in server running at: {}", baseUrl);
+    }
+
+    /**
+     * Sets how many scenarios run at the same time.
+     * Uses 'thread.count' when 'parallel.enabled' is true, otherwise runs one at a time.
+     * A @BeforeClass (TestNG doesn't inject ITestContext into @BeforeSuite); still runs
+     * before the scenarios data provider.
+     */
+    @BeforeClass(alwaysRun = true)
+    public void configureParallelism(ITestContext context) {
+        int threadCount = ConfigReader.getBooleanProperty("parallel.enabled")
+                ? Math.max(1, ConfigReader.getIntProperty("thread.count"))
+                : 1;
+
+        workerCount = threadCount;
+        context.getSuite().getXmlSuite().setDataProviderThreadCount(threadCount);
+        log.info("🧵 Scenario workers: {}", threadCount);
+    }
+
+    /**
+     * Pre-launches pooled browsers so the first scenarios don't wait for browser start-up.
+     */
+    @BeforeSuite(alwaysRun = true, dependsOnMethods = "startStandInServer")
+    public void warmUpDriverPool() {
+        if (ConfigReader.getBooleanProperty("pool.enabled")) {
+            DriverPool.warmUp();
+        }
+    }
+
+    /**
+     * Hands scenarios to TestNG's data provider thread pool so they can run in parallel.
+     * Each worker thread gets its own browser through DriverManager.
+     * The order comes from ScenarioScheduler (longest first, based on earlier runs);
+     * when sharded, only this shard's scenarios are returned; in rerun mode, only
+     * the scenarios that failed last time. The split comes first, so a rerun keeps each
+     * failure in the shard that owns it (whichever shard listed it). @dataset scenarios
+     * run in every shard; DataDrivenRun gives each shard its own rows.
+     */
+    @Override
+    @DataProvider(parallel = true)
+    public Object[][] scenarios() {
+        Function<Object[], String> keyOfRow = row -> {
+            Pickle pickle = ((PickleWrapper) row[0]).getPickle();
+            return ScenarioHistory.keyOf(pickle.getUri(), pickle.getLine());
+        };
+        Predicate<Object[]> splitsOwnRows = row -> ((PickleWrapper) row[0]).getPickle().getTags().stream()
+                .anyMatch(tag -> tag.startsWith("@dataset("));
+        Object[][] rows = ScenarioScheduler.shard(super.scenarios(), keyOfRow, splitsOwnRows, shard);
+        if (RerunManifest.isRerunMode()) {
+            rows = RerunManifest.filter(rows, keyOfRow);
+        }
+        ScenarioScheduler.Schedule schedule = ScenarioScheduler.schedule(rows, keyOfRow, workerCount);
+
+        predictedSuiteMs = schedule.predictedMs();
+        scenariosStartNanos = System.nanoTime();
+        return schedule.rows();
+    }
+
+    /**
+     * Same as Cucumber's runScenario, plus an immediate retry of failed scenarios (ScenarioRetry).
+     */
+    @Override
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios",
+            retryAnalyzer = ScenarioRetry.class)
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        super.runScenario(pickleWrapper, featureWrapper);
+    }
+
+    /**
+     * Prints predicted (from history) versus actual time spent running scenarios.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void reportSuiteTime() {
+        if (scenariosStartNanos == 0) {
+            return;
+        }
+        long actualMs = (System.nanoTime() - scenariosStartNanos) / 1_000_000;
+        log.info("⌛ Scenario time → predicted: {}, actual: {} s",
+                predictedSuiteMs > 0 ? predictedSuiteMs / 1000.0 + " s" : "n/a (no history yet)",
+                actualMs / 1000.0);
+    }
+
+    /**
+     * Quits pooled browsers and prints pool metrics.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void shutdownDriverPool() {
+        if (ConfigReader.getBooleanProperty("pool.enabled")) {
+            DriverPool.shutdown();
+        }
+    }
+
+    /**
+     * Prints how long each wait condition took, how many element lookups and action retries
+     * each locator needed, what the network filter blocked and (when 'trace.commands' is true)
+     * the WebDriver command summary. Runs after the pool is shut down so the browsers'
+     * quit commands are counted before the command trace is closed.
+     */
+    @AfterSuite(alwaysRun = true, dependsOnMethods = "shutdownDriverPool")
+    public void printWaitStats() {
+        WaitStats.print();
+        CachingElementLocator.printFindCounts();
+        ActionRetry.printRetryCounts();
+        PageReadiness.printStats();
+        NetworkFilter.printStats();
+        CommandTracer.printSummary();
+    }
+
+    /**
+     * Stops the stand-in server once all browsers are done with it.
+     */
+    @AfterSuite(alwaysRun = true, dependsOnMethods = "shutdownDriverPool")
+    public void stopStandInServer() {
+        if (standInServer != null) {
+            standInServer.stop();
+            standInServer = null;
+        }
+    }
+
+    /**
+     * Waits for screenshots that are still being written in the background.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void flushScreenshots() {
+        ScreenshotWriter.flush();
+    }
+
+    /**
+     * Renders the HTML report from the streamed results (only in 'report.streaming' mode).
+     */
+    @AfterSuite(alwaysRun = true)
+    public void renderStreamingReport() {
+        if (ExtentManager.isStreaming()) {
+            new ExtentManager().flushReports();
+        }
+    }
+
     /**
      * Automatically open the Extent HTML report after the test suite completes.
+     * Skipped for shards: the merged report (ReportMerger) is the one to look at.
      */
     @AfterSuite
     public void openExtentReport() {
+        if (shard.isSharded()) {
+            log.info("📂 Shard {} reports: {}", shard, new File(shard.outputDir()).getAbsolutePath());
+            return;
+        }
         String reportPath = System.getProperty("user.dir") + "/test-output/ExtentReports/ExtentReport.html";
 
         File reportFile = new File(reportPath);
         if (reportFile.exists()) {
             try {
-                System.out.println("📂 Opening Extent Report: " + reportFile.getAbsolutePath());
+                log.info("📂 Opening Extent Report: {}", reportFile.getAbsolutePath());
                 Desktop.getDesktop().browse(reportFile.toURI());
             } catch (IOException e) {
-                System.err.println("⚠️ Unable to open Extent Report automatically: " + e.getMessage());
+                log.warn("⚠️ Unable to open Extent Report automatically: {}", e.getMessage());
             }
         } else {
-            System.err.println("❌ Extent Report not found at: " + reportPath);
+            log.error("❌ Extent Report not found at: {}", reportPath);
         }
     }
 }
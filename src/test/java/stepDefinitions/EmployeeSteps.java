@@ -0,0 +1,24 @@
+package stepDefinitions;
+
+import api.Employee;
+import api.EmployeeApi;
+import api.TestData;
+import io.cucumber.java.en.*;
+import org.testng.Assert;
+
+import java.util.List;
+
+public class EmployeeSteps {
+
+    @Then("the seeded employees can be found through the API")
+    public void seeded_employees_can_be_found() {
+        List<Employee> seeded = TestData.employees();
+        Assert.assertFalse(seeded.isEmpty(), "No employees were seeded!");
+
+        EmployeeApi api = TestData.api(); // same role as the seeding
+        for (Employee employee : seeded) {
+            Employee found = api.get(employee.empNumber());
+            Assert.assertEquals(found.employeeId(), employee.employeeId(), "Seeded employee not found!");
+        }
+    }
+}
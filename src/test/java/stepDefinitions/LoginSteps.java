@@ -1,14 +1,32 @@
 package stepDefinitions;
 
+import base.PageReadiness;
+import config.ConfigReader;
+import data.DataDrivenRun;
+import data.DataRow;
 import driver.DriverManager;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
 import io.cucumber.java.en.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
+import pages.DashboardPage;
 import pages.LoginPage;
 
 public class LoginSteps {
 
+    private static final Logger log = LogManager.getLogger(LoginSteps.class);
+
     private LoginPage loginPage;
+    private String scenarioName;
+
+    @Before
+    public void rememberScenario(Scenario scenario) {
+        scenarioName = scenario.getName();
+    }
 
     @Given("user is on the OrangeHRM login page")
     public void user_is_on_the_login_page() {
@@ -17,8 +35,8 @@ public class LoginSteps {
 
     @When("user enters valid username and password")
     public void user_enters_valid_credentials() {
-        loginPage.enterUsername("Admin");
-        loginPage.enterPassword("admin123");
+        loginPage.enterUsername(ConfigReader.getProperty("username"));
+        loginPage.enterPassword(ConfigReader.getProperty("password"));
     }
 
     @When("user enters invalid username and password")
@@ -35,7 +53,7 @@ public class LoginSteps {
     @Then("user should be navigated to the Dashboard page")
     public void user_should_be_navigated_to_dashboard() {
         String title = loginPage.getPageTitle();
-        System.out.println("Page title: " + title);
+        log.info("Page title: {}", title);
         Assert.assertTrue(title.contains("OrangeHRM"),
                 "User is not on Dashboard page!"); // OrangeHRM dashboard title check
     }
@@ -43,8 +61,37 @@ public class LoginSteps {
     @Then("user should see an error message")
     public void user_should_see_error_message() {
         String actualError = loginPage.getErrorMessage();
-        System.out.println("Actual Error Message: " + actualError);
+        log.info("Actual Error Message: {}", actualError);
         Assert.assertTrue(actualError.contains("Invalid credentials"),
                 "Error message not shown or incorrect!");
     }
+
+    /**
+     * Logs in once per row of the scenario's @dataset file (columns: username, password, expected).
+     * expected = "dashboard" for a successful login, otherwise the error message to expect.
+     */
+    @Then("every dataset row logs in and sees the expected result")
+    public void every_dataset_row_logs_in() {
+        DataDrivenRun.forEachRow(scenarioName, this::loginWith);
+    }
+
+    // Runs on the worker's own browser: starts from a logged-out login page for every row
+    private void loginWith(DataRow row) {
+        WebDriver driver = DriverManager.getDriver();
+        driver.manage().deleteAllCookies();
+        driver.get(ConfigReader.getProperty("base.url"));
+        PageReadiness.await(driver);
+
+        new LoginPage(driver).login(row.get("username"), row.get("password"));
+
+        String expected = row.get("expected");
+        if ("dashboard".equalsIgnoreCase(expected)) {
+            Assert.assertTrue(new DashboardPage(driver).isDashboardDisplayed(),
+                    "Dashboard not shown for " + row);
+        } else {
+            String actualError = new LoginPage(driver).getErrorMessage();
+            Assert.assertTrue(actualError.contains(expected),
+                    "Expected error '" + expected + "' but got '" + actualError + "' for " + row);
+        }
+    }
 }
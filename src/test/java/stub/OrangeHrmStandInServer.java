@@ -0,0 +1,266 @@
+package stub;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OrangeHrmStandInServer
+ * ------------------------
+ * Purpose:
+ * A tiny in-process HTTP server that imitates the OrangeHRM login and dashboard pages,
+ * so the suite can run without the public demo site (no internet latency, no rate limits).
+ *
+ * What it serves (same structure LoginPage / DashboardPage expect):
+ *  - Login page    → inputs name="username" / name="password", a submit button,
+ *                    and the "Invalid credentials" alert after a failed login
+ *  - Dashboard     → the <h6>Dashboard</h6> header, only with a valid session cookie
+ *  - Employee API  → POST / GET {empNumber} / DELETE {"ids": [...]} on api/v2/pim/employees,
+ *                    same JSON shape as the real app, only with a valid session cookie
+ *
+ * Latency and jitter can be added to every response to benchmark the framework
+ * with a predictable "network".
+ *
+ * Started and stopped by TestRunner when 'standin.enabled = true'.
+ */
+public class OrangeHrmStandInServer {
+
+    public static final String LOGIN_PATH = "/web/index.php/auth/login";
+    public static final String VALIDATE_PATH = "/web/index.php/auth/validate";
+    public static final String DASHBOARD_PATH = "/web/index.php/dashboard/index";
+    public static final String EMPLOYEES_API_PATH = "/web/index.php/api/v2/pim/employees";
+
+    private static final String SESSION_COOKIE = "orangehrm";
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+
+    private final String username;
+    private final String password;
+    private final int latencyMs;
+    private final int jitterMs;
+
+    // Session ids handed out after a successful login
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+
+    // empNumber → employee created through the API
+    private final Map<Integer, Map<String, Object>> employees = new ConcurrentHashMap<>();
+    private final AtomicInteger nextEmpNumber = new AtomicInteger(1);
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public OrangeHrmStandInServer(String username, String password, int latencyMs, int jitterMs) {
+        this.username = username;
+        this.password = password;
+        this.latencyMs = Math.max(0, latencyMs);
+        this.jitterMs = Math.max(0, jitterMs);
+    }
+
+    /**
+     * Starts the server on the given port (0 = any free port) and returns the base URL.
+     */
+    public String start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/", this::handle);
+
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "orangehrm-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+
+        return getBaseUrl();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            simulateNetworkDelay();
+
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+
+            if ("POST".equals(method) && VALIDATE_PATH.equals(path)) {
+                handleLogin(exchange);
+            } else if (path.startsWith(EMPLOYEES_API_PATH)) {
+                if (hasValidSession(exchange)) {
+                    handleEmployees(exchange, method, path.substring(EMPLOYEES_API_PATH.length()));
+                } else {
+                    sendJson(exchange, 401, Map.of("error", Map.of("status", "401", "message", "Session expired")));
+                }
+            } else if (DASHBOARD_PATH.equals(path)) {
+                if (hasValidSession(exchange)) {
+                    sendHtml(exchange, 200, dashboardPage());
+                } else {
+                    redirect(exchange, LOGIN_PATH);
+                }
+            } else if ("/".equals(path) || LOGIN_PATH.equals(path)) {
+                if (hasValidSession(exchange)) {
+                    // Like the real app: a logged-in user opening the base URL lands on the dashboard
+                    redirect(exchange, DASHBOARD_PATH);
+                } else {
+                    String query = exchange.getRequestURI().getQuery();
+                    sendHtml(exchange, 200, loginPage(query != null && query.contains("error=1")));
+                }
+            } else {
+                sendHtml(exchange, 404, "<html><head><title>OrangeHRM</title></head><body>Not Found</body></html>");
+            }
+        }
+    }
+
+    private void handleLogin(HttpExchange exchange) throws IOException {
+        Map<String, String> form = parseForm(exchange.getRequestBody());
+
+        if (username.equals(form.get("username")) && password.equals(form.get("password"))) {
+            String sessionId = UUID.randomUUID().toString();
+            sessions.add(sessionId);
+            exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + sessionId + "; Path=/; HttpOnly");
+            redirect(exchange, DASHBOARD_PATH);
+        } else {
+            redirect(exchange, LOGIN_PATH + "?error=1");
+        }
+    }
+
+    private void handleEmployees(HttpExchange exchange, String method, String rest) throws IOException {
+        if ("POST".equals(method) && rest.isEmpty()) {
+            Map<String, Object> employee = new LinkedHashMap<>(mapper.readValue(exchange.getRequestBody(), JSON_OBJECT));
+            int empNumber = nextEmpNumber.getAndIncrement();
+            employee.put("empNumber", empNumber);
+            employees.put(empNumber, employee);
+            sendJson(exchange, 200, Map.of("data", employee, "meta", List.of(), "rels", List.of()));
+        } else if ("DELETE".equals(method) && rest.isEmpty()) {
+            List<?> ids = (List<?>) mapper.readValue(exchange.getRequestBody(), JSON_OBJECT).get("ids");
+            List<Integer> deleted = new ArrayList<>();
+            for (Object id : ids) {
+                if (employees.remove(((Number) id).intValue()) != null) deleted.add(((Number) id).intValue());
+            }
+            sendJson(exchange, 200, Map.of("data", deleted, "meta", List.of(), "rels", List.of()));
+        } else if ("GET".equals(method) && rest.matches("/\\d+")) {
+            Map<String, Object> employee = employees.get(Integer.parseInt(rest.substring(1)));
+            if (employee == null) {
+                sendJson(exchange, 404, Map.of("error", Map.of("status", "404", "message", "Record Not Found")));
+            } else {
+                sendJson(exchange, 200, Map.of("data", employee, "meta", List.of(), "rels", List.of()));
+            }
+        } else {
+            sendJson(exchange, 405, Map.of("error", Map.of("status", "405", "message", "Method Not Allowed")));
+        }
+    }
+
+    private boolean hasValidSession(HttpExchange exchange) {
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+            for (String cookie : header.split(";")) {
+                String[] pair = cookie.trim().split("=", 2);
+                if (pair.length == 2 && SESSION_COOKIE.equals(pair[0]) && sessions.contains(pair[1])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void simulateNetworkDelay() {
+        int delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextInt(jitterMs + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Map<String, String> parseForm(InputStream body) throws IOException {
+        Map<String, String> form = new HashMap<>();
+        String content = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        for (String pair : content.split("&")) {
+            String[] keyValue = pair.split("=", 2);
+            if (keyValue.length == 2) {
+                form.put(URLDecoder.decode(keyValue[0], StandardCharsets.UTF_8),
+                        URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().add("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, Object json) throws IOException {
+        byte[] body = mapper.writeValueAsBytes(json);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sendHtml(HttpExchange exchange, int status, String html) throws IOException {
+        byte[] body = html.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String loginPage(boolean showError) {
+        String error = showError
+                ? "<div class=\"oxd-alert oxd-alert--error\" role=\"alert\">"
+                + "<p class=\"oxd-text oxd-text--p oxd-alert-content-text\">Invalid credentials</p></div>"
+                : "";
+
+        return "<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>OrangeHRM</title></head><body><div id=\"app\">"
+                + "<h5 class=\"oxd-text oxd-text--h5 orangehrm-login-title\">Login</h5>"
+                + error
+                + "<form class=\"oxd-form\" method=\"post\" action=\"" + VALIDATE_PATH + "\">"
+                + "<input class=\"oxd-input\" name=\"username\" placeholder=\"Username\" autocomplete=\"off\">"
+                + "<input class=\"oxd-input\" name=\"password\" type=\"password\" placeholder=\"Password\">"
+                + "<button type=\"submit\" class=\"oxd-button oxd-button--main orangehrm-login-button\">Login</button>"
+                + "</form></div></body></html>";
+    }
+
+    private static String dashboardPage() {
+        return "<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>OrangeHRM</title></head><body><div id=\"app\">"
+                + "<header class=\"oxd-topbar-header\">"
+                + "<h6 class=\"oxd-text oxd-text--h6 oxd-topbar-header-breadcrumb-module\">Dashboard</h6>"
+                + "</header></div></body></html>";
+    }
+}
@@ -0,0 +1,5 @@
+Feature: OrangeHRM API test data
+
+  @seedEmployees(3)
+  Scenario: Employees seeded through the API exist in OrangeHRM
+    Then the seeded employees can be found through the API
@@ -11,3 +11,8 @@ Feature: OrangeHRM Login
     When user enters invalid username and password
     And clicks on the login button
     Then user should see an error message
+
+  @dataset(login-credentials.csv)
+  Scenario: Login outcomes for every row of the credentials dataset
+    Given user is on the OrangeHRM login page
+    Then every dataset row logs in and sees the expected result